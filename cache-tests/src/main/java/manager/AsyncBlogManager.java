@@ -0,0 +1,54 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Blog;
+
+import java.util.concurrent.Future;
+
+/**
+ * A blog manager whose lookups return a {@link Future} of the blog rather than
+ * blocking the caller until it is found.
+ */
+public interface AsyncBlogManager {
+
+  Future<Blog> getEntryCached(String title);
+
+  Future<Blog> getEntryRaw(String title);
+
+  /**
+   * Looks up a blog on the calling thread, caching it separately from the futures.
+   */
+  Blog getEntryCachedBlocking(String title);
+
+  void clearEntryFromCache(String title);
+
+  void clearBlockingEntryFromCache(String title);
+
+  void clearCache();
+
+  void clearBlockingCache();
+
+  void createEntry(Blog blog);
+
+  /**
+   * @return the number of lookups of the backing store since the last {@link #resetLookups()}
+   */
+  int getLookups();
+
+  /**
+   * Resets the count of lookups of the backing store.
+   */
+  void resetLookups();
+
+  /**
+   * Sets how long each lookup of the backing store takes.
+   *
+   * @param millis the latency in milliseconds, 0 for none
+   */
+  void setLookupLatencyMillis(long millis);
+}
@@ -0,0 +1,93 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Blog;
+
+import javax.cache.annotation.CacheDefaults;
+import javax.cache.annotation.CacheRemove;
+import javax.cache.annotation.CacheRemoveAll;
+import javax.cache.annotation.CacheResult;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An implementation of AsyncBlogManager whose lookups run on a thread pool, so that
+ * {@link #getEntryCached(String)} returns a future that is still in flight.
+ */
+@CacheDefaults(cacheName = "asyncBlogManager")
+public class AsyncBlogManagerImpl implements AsyncBlogManager {
+
+  private static final SlowBlogStore STORE = new SlowBlogStore();
+
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "AsyncBlogManagerImpl");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private static Future<Blog> lookupAsync(final String title) {
+    return new BlogFuture(EXECUTOR.submit(new Callable<Blog>() {
+      @Override
+      public Blog call() {
+        return STORE.lookup(title);
+      }
+    }));
+  }
+
+  @CacheResult
+  public Future<Blog> getEntryCached(String title) {
+    return lookupAsync(title);
+  }
+
+  public Future<Blog> getEntryRaw(String title) {
+    return lookupAsync(title);
+  }
+
+  @CacheResult(cacheName = "asyncBlogManager.blocking")
+  public Blog getEntryCachedBlocking(String title) {
+    return STORE.lookup(title);
+  }
+
+  @CacheRemove
+  public void clearEntryFromCache(String title) {
+  }
+
+  @CacheRemove(cacheName = "asyncBlogManager.blocking")
+  public void clearBlockingEntryFromCache(String title) {
+  }
+
+  @CacheRemoveAll
+  public void clearCache() {
+  }
+
+  @CacheRemoveAll(cacheName = "asyncBlogManager.blocking")
+  public void clearBlockingCache() {
+  }
+
+  public void createEntry(Blog blog) {
+    STORE.put(blog);
+  }
+
+  public int getLookups() {
+    return STORE.getLookups();
+  }
+
+  public void resetLookups() {
+    STORE.resetLookups();
+  }
+
+  public void setLookupLatencyMillis(long millis) {
+    STORE.setLatencyMillis(millis);
+  }
+}
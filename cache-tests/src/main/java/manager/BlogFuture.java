@@ -0,0 +1,104 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Blog;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link Future} of a {@link Blog} that can be stored in a store-by-value cache.
+ * <p>
+ * Only the blog can be copied, so serializing a future that is still in flight waits
+ * for it to complete and writes a completed future in its place. A cache that stores
+ * by value therefore holds the completed value, while one that stores by reference
+ * holds the future itself.
+ * </p>
+ */
+public class BlogFuture implements Future<Blog>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient Future<Blog> delegate;
+
+  private final Blog value;
+
+  /**
+   * Constructs a future that completes with another.
+   *
+   * @param delegate the future computing the blog
+   */
+  public BlogFuture(Future<Blog> delegate) {
+    this.delegate = delegate;
+    this.value = null;
+  }
+
+  private BlogFuture(Blog value) {
+    this.delegate = null;
+    this.value = value;
+  }
+
+  /**
+   * @param blog the blog, may be null
+   * @return a future already completed with the blog
+   */
+  public static BlogFuture completed(Blog blog) {
+    return new BlogFuture(blog);
+  }
+
+  /**
+   * @return true if this future was completed when it was created, as copies are
+   */
+  public boolean isCompletedOnCreation() {
+    return delegate == null;
+  }
+
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    return delegate != null && delegate.cancel(mayInterruptIfRunning);
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return delegate != null && delegate.isCancelled();
+  }
+
+  @Override
+  public boolean isDone() {
+    return delegate == null || delegate.isDone();
+  }
+
+  @Override
+  public Blog get() throws InterruptedException, ExecutionException {
+    return delegate == null ? value : delegate.get();
+  }
+
+  @Override
+  public Blog get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+    return delegate == null ? value : delegate.get(timeout, unit);
+  }
+
+  private Object writeReplace() throws ObjectStreamException {
+    if (delegate == null) {
+      return this;
+    }
+    try {
+      return completed(delegate.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InvalidObjectException("Interrupted while waiting for the blog to copy");
+    } catch (ExecutionException e) {
+      throw new InvalidObjectException("The blog to copy could not be found: " + e.getCause());
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Blog;
+
+import javax.cache.annotation.CacheDefaults;
+import javax.cache.annotation.CacheRemove;
+import javax.cache.annotation.CacheRemoveAll;
+import javax.cache.annotation.CacheResult;
+import java.util.concurrent.Future;
+
+/**
+ * An implementation of AsyncBlogManager which looks blogs up on the calling thread
+ * and returns futures that are already completed.
+ */
+@CacheDefaults(cacheName = "completedFutureBlogManager")
+public class CompletedFutureBlogManagerImpl implements AsyncBlogManager {
+
+  private static final SlowBlogStore STORE = new SlowBlogStore();
+
+  public int getLookups() {
+    return STORE.getLookups();
+  }
+
+  public void resetLookups() {
+    STORE.resetLookups();
+  }
+
+  public void setLookupLatencyMillis(long millis) {
+    STORE.setLatencyMillis(millis);
+  }
+
+  @CacheResult
+  public Future<Blog> getEntryCached(String title) {
+    return BlogFuture.completed(STORE.lookup(title));
+  }
+
+  public Future<Blog> getEntryRaw(String title) {
+    return BlogFuture.completed(STORE.lookup(title));
+  }
+
+  @CacheResult(cacheName = "completedFutureBlogManager.blocking")
+  public Blog getEntryCachedBlocking(String title) {
+    return STORE.lookup(title);
+  }
+
+  @CacheRemove
+  public void clearEntryFromCache(String title) {
+  }
+
+  @CacheRemove(cacheName = "completedFutureBlogManager.blocking")
+  public void clearBlockingEntryFromCache(String title) {
+  }
+
+  @CacheRemoveAll
+  public void clearCache() {
+  }
+
+  @CacheRemoveAll(cacheName = "completedFutureBlogManager.blocking")
+  public void clearBlockingCache() {
+  }
+
+  public void createEntry(Blog blog) {
+    STORE.put(blog);
+  }
+}
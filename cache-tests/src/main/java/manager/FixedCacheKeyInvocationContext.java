@@ -0,0 +1,122 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import javax.cache.annotation.CacheInvocationParameter;
+import javax.cache.annotation.CacheKeyInvocationContext;
+import javax.cache.annotation.CacheResult;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A {@link CacheKeyInvocationContext} with fixed key parameter values, used to call a
+ * {@link javax.cache.annotation.CacheKeyGenerator} directly, without an interceptor.
+ * <p>
+ * The parameters are created once, so the context allocates nothing when a generator
+ * asks for them. It is not backed by a method or a target.
+ * </p>
+ */
+public class FixedCacheKeyInvocationContext implements CacheKeyInvocationContext<CacheResult> {
+
+  private final String cacheName;
+  private final CacheInvocationParameter[] parameters;
+
+  /**
+   * Constructs a context.
+   *
+   * @param cacheName the name of the cache
+   * @param values    the values of the key parameters
+   */
+  public FixedCacheKeyInvocationContext(String cacheName, Object... values) {
+    this.cacheName = cacheName;
+    this.parameters = new CacheInvocationParameter[values.length];
+    for (int i = 0; i < values.length; i++) {
+      parameters[i] = new FixedParameter(values[i], i);
+    }
+  }
+
+  @Override
+  public CacheInvocationParameter[] getKeyParameters() {
+    return parameters;
+  }
+
+  @Override
+  public CacheInvocationParameter getValueParameter() {
+    return null;
+  }
+
+  @Override
+  public Object getTarget() {
+    return null;
+  }
+
+  @Override
+  public CacheInvocationParameter[] getAllParameters() {
+    return parameters;
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> cls) {
+    throw new IllegalArgumentException("Unwrapping to " + cls + " is not supported");
+  }
+
+  @Override
+  public Method getMethod() {
+    return null;
+  }
+
+  @Override
+  public Set<Annotation> getAnnotations() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public CacheResult getCacheAnnotation() {
+    return null;
+  }
+
+  @Override
+  public String getCacheName() {
+    return cacheName;
+  }
+
+  /**
+   * A parameter with a fixed value.
+   */
+  private static final class FixedParameter implements CacheInvocationParameter {
+
+    private final Object value;
+    private final int position;
+
+    private FixedParameter(Object value, int position) {
+      this.value = value;
+      this.position = position;
+    }
+
+    @Override
+    public Class<?> getRawType() {
+      return value == null ? Object.class : value.getClass();
+    }
+
+    @Override
+    public Object getValue() {
+      return value;
+    }
+
+    @Override
+    public Set<Annotation> getAnnotations() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public int getParameterPosition() {
+      return position;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Blog;
+
+import javax.cache.annotation.CacheDefaults;
+import javax.cache.annotation.CacheKey;
+import javax.cache.annotation.CacheRemove;
+import javax.cache.annotation.CacheRemoveAll;
+import javax.cache.annotation.CacheResult;
+
+/**
+ * An implementation of BlogManager which counts how often its backing map is read
+ * and can be made slow to read, so that tests can observe how many callers of a
+ * {@link CacheResult} method end up running its body.
+ */
+@CacheDefaults(cacheName = "instrumentedBlogManager")
+public class InstrumentedBlogManagerImpl implements BlogManager {
+
+  private static final SlowBlogStore STORE = new SlowBlogStore();
+
+  /**
+   * @return the number of times the backing map has been read since the last {@link #resetReads()}
+   */
+  public static int getReads() {
+    return STORE.getLookups();
+  }
+
+  /**
+   * Resets the count of reads of the backing map.
+   */
+  public static void resetReads() {
+    STORE.resetLookups();
+  }
+
+  /**
+   * Sets how long each read of the backing map takes.
+   *
+   * @param millis the latency in milliseconds, 0 for none
+   */
+  public static void setReadLatencyMillis(long millis) {
+    STORE.setLatencyMillis(millis);
+  }
+
+  @CacheResult
+  public Blog getEntryCached(String title) {
+    return STORE.lookup(title);
+  }
+
+  @CacheResult
+  public Blog getEntryCached(String randomArg, @CacheKey String title, String randomArg2) {
+    return STORE.lookup(title);
+  }
+
+  public Blog getEntryRaw(String title) {
+    return STORE.lookup(title);
+  }
+
+  @CacheRemove
+  public void clearEntryFromCache(String title) {
+  }
+
+  public void clearEntry(String title) {
+    STORE.remove(title);
+  }
+
+  @CacheRemoveAll
+  public void clearCache() {
+  }
+
+  public void createEntry(Blog blog) {
+    STORE.put(blog);
+  }
+}
@@ -0,0 +1,105 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Blog;
+import domain.Identifier;
+
+import javax.cache.annotation.CacheDefaults;
+import javax.cache.annotation.CacheKey;
+import javax.cache.annotation.CacheRemove;
+import javax.cache.annotation.CacheRemoveAll;
+import javax.cache.annotation.CacheResult;
+
+/**
+ * An implementation of BlogManager with {@link CacheResult} methods keyed by
+ * {@link Identifier}s, by numbers and with custom
+ * {@link javax.cache.annotation.CacheKeyGenerator}s, sharing one cache.
+ * <p>
+ * Blogs looked up by an identifier use its name as title, blogs looked up by number
+ * use the title returned by {@link #titleOf(long)}. Reads of the backing map are
+ * counted so that tests can tell hits from misses.
+ * </p>
+ */
+@CacheDefaults(cacheName = "keyGeneratingBlogManager")
+public class KeyGeneratingBlogManagerImpl implements BlogManager {
+
+  private static final SlowBlogStore STORE = new SlowBlogStore();
+
+  /**
+   * @return the number of times the backing map has been read since the last {@link #resetReads()}
+   */
+  public static int getReads() {
+    return STORE.getLookups();
+  }
+
+  /**
+   * Resets the count of reads of the backing map.
+   */
+  public static void resetReads() {
+    STORE.resetLookups();
+  }
+
+  /**
+   * @param number the number of a blog
+   * @return the title of the blog looked up by {@link #getEntryCachedByNumber(long)}
+   */
+  public static String titleOf(long number) {
+    return "number " + number;
+  }
+
+  @CacheResult
+  public Blog getEntryCached(String title) {
+    return STORE.lookup(title);
+  }
+
+  @CacheResult
+  public Blog getEntryCached(String randomArg, @CacheKey String title, String randomArg2) {
+    return STORE.lookup(title);
+  }
+
+  /**
+   * Looks up a blog with its key generated by the {@link SingleValueCacheKeyGenerator}.
+   */
+  @CacheResult(cacheKeyGenerator = SingleValueCacheKeyGenerator.class)
+  public Blog getEntryCachedBySingleValue(String randomArg, @CacheKey String title, String randomArg2) {
+    return STORE.lookup(title);
+  }
+
+  /**
+   * Looks up a blog with its key generated by the {@link PrimitiveCacheKeyGenerator}.
+   */
+  @CacheResult(cacheKeyGenerator = PrimitiveCacheKeyGenerator.class)
+  public Blog getEntryCachedByNumber(long number) {
+    return STORE.lookup(titleOf(number));
+  }
+
+  @CacheResult
+  public Blog getEntryCachedByIdentifier(Identifier identifier) {
+    return STORE.lookup(identifier.toString());
+  }
+
+  public Blog getEntryRaw(String title) {
+    return STORE.lookup(title);
+  }
+
+  @CacheRemove
+  public void clearEntryFromCache(String title) {
+  }
+
+  public void clearEntry(String title) {
+    STORE.remove(title);
+  }
+
+  @CacheRemoveAll
+  public void clearCache() {
+  }
+
+  public void createEntry(Blog blog) {
+    STORE.put(blog);
+  }
+}
@@ -0,0 +1,86 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import javax.cache.annotation.CacheInvocationParameter;
+import javax.cache.annotation.CacheKeyGenerator;
+import javax.cache.annotation.CacheKeyInvocationContext;
+import javax.cache.annotation.GeneratedCacheKey;
+import java.lang.annotation.Annotation;
+
+/**
+ * A {@link CacheKeyGenerator} for methods with a single integral key parameter, that
+ * is a long, int, short or byte; other numbers are rejected rather than truncated.
+ * <p>
+ * Keys for values from 0 to {@link #PREALLOCATED} - 1 are created up front, so that
+ * generating them allocates nothing; keys for other values are created on demand.
+ * </p>
+ */
+public class PrimitiveCacheKeyGenerator implements CacheKeyGenerator {
+
+  /**
+   * The number of keys created up front.
+   */
+  public static final int PREALLOCATED = 4096;
+
+  private static final PrimitiveCacheKey[] KEYS = new PrimitiveCacheKey[PREALLOCATED];
+
+  static {
+    for (int i = 0; i < PREALLOCATED; i++) {
+      KEYS[i] = new PrimitiveCacheKey(i);
+    }
+  }
+
+  @Override
+  public GeneratedCacheKey generateCacheKey(CacheKeyInvocationContext<? extends Annotation> cacheKeyInvocationContext) {
+    CacheInvocationParameter[] parameters = cacheKeyInvocationContext.getKeyParameters();
+    Object value = parameters.length == 1 ? parameters[0].getValue() : null;
+    if (!(value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+      throw new IllegalArgumentException("Expected a single long, int, short or byte key parameter, not " + value);
+    }
+    return valueOf(((Number) value).longValue());
+  }
+
+  /**
+   * Returns the key of a value, without allocating if the value was created up front.
+   *
+   * @param value the value of the key parameter
+   * @return the key
+   */
+  public static PrimitiveCacheKey valueOf(long value) {
+    return value >= 0 && value < PREALLOCATED ? KEYS[(int) value] : new PrimitiveCacheKey(value);
+  }
+
+  /**
+   * The key of an integral parameter value.
+   */
+  public static final class PrimitiveCacheKey implements GeneratedCacheKey {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long value;
+
+    private PrimitiveCacheKey(long value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || o instanceof PrimitiveCacheKey && value == ((PrimitiveCacheKey) o).value;
+    }
+
+    @Override
+    public int hashCode() {
+      return (int) (value ^ (value >>> 32));
+    }
+
+    @Override
+    public String toString() {
+      return "PrimitiveCacheKey{" + value + "}";
+    }
+  }
+}
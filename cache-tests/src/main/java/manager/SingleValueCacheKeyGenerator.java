@@ -0,0 +1,67 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import javax.cache.annotation.CacheInvocationParameter;
+import javax.cache.annotation.CacheKeyGenerator;
+import javax.cache.annotation.CacheKeyInvocationContext;
+import javax.cache.annotation.GeneratedCacheKey;
+import java.lang.annotation.Annotation;
+
+/**
+ * A {@link CacheKeyGenerator} for methods with a single key parameter, whose key
+ * wraps the value of that parameter rather than an array of parameter values.
+ */
+public class SingleValueCacheKeyGenerator implements CacheKeyGenerator {
+
+  @Override
+  public GeneratedCacheKey generateCacheKey(CacheKeyInvocationContext<? extends Annotation> cacheKeyInvocationContext) {
+    CacheInvocationParameter[] parameters = cacheKeyInvocationContext.getKeyParameters();
+    if (parameters.length != 1) {
+      throw new IllegalArgumentException("Expected a single key parameter but found " + parameters.length);
+    }
+    return new SingleValueCacheKey(parameters[0].getValue());
+  }
+
+  /**
+   * The key of a single parameter value.
+   */
+  public static final class SingleValueCacheKey implements GeneratedCacheKey {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Object value;
+
+    /**
+     * Constructs a key.
+     *
+     * @param value the value of the key parameter, may be null
+     */
+    public SingleValueCacheKey(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof SingleValueCacheKey)) return false;
+
+      Object other = ((SingleValueCacheKey) o).value;
+      return value == null ? other == null : value.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      return value == null ? 0 : value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "SingleValueCacheKey{" + value + "}";
+    }
+  }
+}
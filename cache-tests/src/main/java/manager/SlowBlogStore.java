@@ -0,0 +1,86 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Blog;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The backing store of the instrumented BlogManagers, which counts its lookups and
+ * can be given a latency, so that tests can observe how many callers of a
+ * {@link javax.cache.annotation.CacheResult} method end up running its body.
+ */
+public class SlowBlogStore {
+
+  private final ConcurrentMap<String, Blog> blogs = new ConcurrentHashMap<String, Blog>();
+  private final AtomicInteger lookups = new AtomicInteger();
+  private volatile long latencyMillis;
+
+  /**
+   * Looks up a blog, counting the lookup and waiting for the latency first.
+   *
+   * @param title the title of the blog
+   * @return the blog, or null if there is none with the title
+   */
+  public Blog lookup(String title) {
+    lookups.incrementAndGet();
+    long latency = latencyMillis;
+    if (latency > 0) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(latency);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return blogs.get(title);
+  }
+
+  /**
+   * Stores a blog under its title.
+   *
+   * @param blog the blog
+   */
+  public void put(Blog blog) {
+    blogs.put(blog.getTitle(), blog);
+  }
+
+  /**
+   * Removes the blog with a title.
+   *
+   * @param title the title of the blog
+   */
+  public void remove(String title) {
+    blogs.remove(title);
+  }
+
+  /**
+   * @return the number of lookups since the last {@link #resetLookups()}
+   */
+  public int getLookups() {
+    return lookups.get();
+  }
+
+  /**
+   * Resets the count of lookups.
+   */
+  public void resetLookups() {
+    lookups.set(0);
+  }
+
+  /**
+   * Sets how long each lookup takes.
+   *
+   * @param millis the latency in milliseconds, 0 for none
+   */
+  public void setLatencyMillis(long millis) {
+    latencyMillis = millis;
+  }
+}
@@ -17,9 +17,31 @@ import java.io.ObjectOutputStream;
 import java.net.InetAddress;
 
 /**
+ * An {@link ExpiryPolicy} that delegates requests to an {@link ExpiryPolicyServer}.
+ * <p>
+ * By default every call is a request to the {@link ExpiryPolicyServer}. A client
+ * constructed with caching enabled asks the server once whether its durations are
+ * constant and, if so, answers all further calls locally.
  */
 public class ExpiryPolicyClient extends CacheClient implements ExpiryPolicy {
 
+  /**
+   * Whether the client may cache durations the server declares constant.
+   */
+  private final boolean cacheConstantDurations;
+
+  /**
+   * The constant durations indexed by {@link ExpiryPolicyServer.EntryOperation#ordinal()}.
+   * Only meaningful once {@link #durationsResolved} is true; <code>null</code> when the
+   * server durations are not constant.
+   */
+  private transient volatile Duration[] constantDurations;
+
+  /**
+   * Whether the server has been asked for its constant durations.
+   */
+  private transient volatile boolean durationsResolved;
+
   /**
    * Constructs a {@link ExpiryPolicyClient}.
    *
@@ -27,9 +49,23 @@ public class ExpiryPolicyClient extends CacheClient implements ExpiryPolicy {
    * @param port    the port to which to connect to the {@link org.jsr107.tck.expiry.ExpiryPolicyServer}
    */
   public ExpiryPolicyClient(InetAddress address, int port) {
+    this(address, port, false);
+  }
+
+  /**
+   * Constructs a {@link ExpiryPolicyClient}.
+   *
+   * @param address                the {@link java.net.InetAddress} on which to connect to the
+   *                               {@link org.jsr107.tck.expiry.ExpiryPolicyServer}
+   * @param port                   the port to which to connect to the {@link org.jsr107.tck.expiry.ExpiryPolicyServer}
+   * @param cacheConstantDurations true to cache the durations when the server declares them constant
+   * @see ExpiryPolicyServer#setExpiryPolicy(ExpiryPolicy, boolean)
+   */
+  public ExpiryPolicyClient(InetAddress address, int port, boolean cacheConstantDurations) {
     super(address, port);
 
     this.client = null;
+    this.cacheConstantDurations = cacheConstantDurations;
   }
 
   /**
@@ -37,7 +73,7 @@ public class ExpiryPolicyClient extends CacheClient implements ExpiryPolicy {
    */
   @Override
   public Duration getExpiryForCreation() {
-    return getClient().invoke(new GetExpiryOperation(ExpiryPolicyServer.EntryOperation.CREATION));
+    return getExpiry(ExpiryPolicyServer.EntryOperation.CREATION);
   }
 
   /**
@@ -45,7 +81,7 @@ public class ExpiryPolicyClient extends CacheClient implements ExpiryPolicy {
    */
   @Override
   public Duration getExpiryForAccess() {
-    return getClient().invoke(new GetExpiryOperation(ExpiryPolicyServer.EntryOperation.ACCESSED));
+    return getExpiry(ExpiryPolicyServer.EntryOperation.ACCESSED);
   }
 
   /**
@@ -53,7 +89,27 @@ public class ExpiryPolicyClient extends CacheClient implements ExpiryPolicy {
    */
   @Override
   public Duration getExpiryForUpdate() {
-    return getClient().invoke(new GetExpiryOperation(ExpiryPolicyServer.EntryOperation.UPDATED));
+    return getExpiry(ExpiryPolicyServer.EntryOperation.UPDATED);
+  }
+
+  private Duration getExpiry(ExpiryPolicyServer.EntryOperation entryOperation) {
+    if (cacheConstantDurations) {
+      if (!durationsResolved) {
+        resolveConstantDurations();
+      }
+      Duration[] durations = constantDurations;
+      if (durations != null) {
+        return durations[entryOperation.ordinal()];
+      }
+    }
+    return getClient().invoke(new GetExpiryOperation(entryOperation));
+  }
+
+  private synchronized void resolveConstantDurations() {
+    if (!durationsResolved) {
+      constantDurations = getClient().invoke(new GetExpiryDurationsOperation());
+      durationsResolved = true;
+    }
   }
 
   /**
@@ -95,4 +151,33 @@ public class ExpiryPolicyClient extends CacheClient implements ExpiryPolicy {
       }
     }
   }
+
+  /**
+   * The {@link GetExpiryDurationsOperation}.
+   */
+  private static class GetExpiryDurationsOperation implements Operation<Duration[]> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getType() {
+      return "getExpiryDurations";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Duration[] onInvoke(ObjectInputStream ois,
+                               ObjectOutputStream oos) throws IOException, ClassNotFoundException {
+      Object o = ois.readObject();
+
+      if (o instanceof RuntimeException) {
+        throw (RuntimeException) o;
+      } else {
+        return (Duration[]) o;
+      }
+    }
+  }
 }
@@ -15,6 +15,7 @@ import javax.cache.expiry.ExpiryPolicy;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *
@@ -47,6 +48,22 @@ public class ExpiryPolicyServer extends Server {
    */
   private ExpiryPolicy expiryPolicy;
 
+  /**
+   * Whether the {@link ExpiryPolicy} always returns the same {@link Duration}s,
+   * allowing {@link ExpiryPolicyClient}s to cache them.
+   */
+  private volatile boolean durationsConstant;
+
+  /**
+   * The number of requests for a single {@link Duration} handled.
+   */
+  private final AtomicInteger expiryRequests = new AtomicInteger();
+
+  /**
+   * The number of requests for all of the constant {@link Duration}s handled.
+   */
+  private final AtomicInteger expiryDurationsRequests = new AtomicInteger();
+
   /**
    * Constructs an {@link ExpiryPolicyServer} (without a {@link ExpiryPolicy} to
    * which client requests will be delegated).
@@ -69,6 +86,7 @@ public class ExpiryPolicyServer extends Server {
 
     // establish the client-server operation handlers
     addOperationHandler(new GetExpiryOperationHandler());
+    addOperationHandler(new GetExpiryDurationsOperationHandler());
 
     this.expiryPolicy = expiryPolicy;
   }
@@ -80,7 +98,53 @@ public class ExpiryPolicyServer extends Server {
    * @param expiryPolicy the {@link ExpiryPolicy}
    */
   public void setExpiryPolicy(ExpiryPolicy expiryPolicy) {
+    setExpiryPolicy(expiryPolicy, false);
+  }
+
+  /**
+   * Set the {@link ExpiryPolicy} the {@link ExpiryPolicyServer} should use
+   * from now on, declaring whether it always returns the same {@link Duration}s.
+   * <p>
+   * When the durations are declared constant, {@link ExpiryPolicyClient}s created
+   * with caching enabled will fetch them once instead of making a request for every
+   * call. The {@link ExpiryPolicy} must then not be changed while such clients are in use.
+   *
+   * @param expiryPolicy       the {@link ExpiryPolicy}
+   * @param durationsConstant  true if the {@link ExpiryPolicy} always returns the same durations
+   */
+  public void setExpiryPolicy(ExpiryPolicy expiryPolicy, boolean durationsConstant) {
     this.expiryPolicy = expiryPolicy;
+    this.durationsConstant = durationsConstant;
+  }
+
+  /**
+   * Obtains the number of requests for a single {@link Duration} this server has
+   * handled, which is the number of calls {@link ExpiryPolicyClient}s did not answer
+   * locally, whichever copies of the clients made them.
+   *
+   * @return the number of requests
+   */
+  public int getExpiryRequestCount() {
+    return expiryRequests.get();
+  }
+
+  /**
+   * Obtains the number of requests for all of the constant {@link Duration}s this
+   * server has handled, which is one for each caching {@link ExpiryPolicyClient}
+   * that resolved them.
+   *
+   * @return the number of requests
+   */
+  public int getExpiryDurationsRequestCount() {
+    return expiryDurationsRequests.get();
+  }
+
+  /**
+   * Resets the request counts of this server.
+   */
+  public void resetRequestCounts() {
+    expiryRequests.set(0);
+    expiryDurationsRequests.set(0);
   }
 
   /**
@@ -96,6 +160,7 @@ public class ExpiryPolicyServer extends Server {
     public void onProcess(ObjectInputStream ois,
                           ObjectOutputStream oos) throws IOException, ClassNotFoundException {
 
+      expiryRequests.incrementAndGet();
       if (expiryPolicy == null) {
         throw new NullPointerException("The ExpiryPolicy for the ExpiryPolicyServer has not be set");
       } else {
@@ -124,4 +189,38 @@ public class ExpiryPolicyServer extends Server {
       }
     }
   }
+
+  /**
+   * The {@link OperationHandler} returning all of the {@link Duration}s of an
+   * {@link ExpiryPolicy} at once, indexed by {@link EntryOperation#ordinal()}.
+   * When the durations have not been declared constant <code>null</code> is returned.
+   */
+  public class GetExpiryDurationsOperationHandler implements OperationHandler {
+    @Override
+    public String getType() {
+      return "getExpiryDurations";
+    }
+
+    @Override
+    public void onProcess(ObjectInputStream ois,
+                          ObjectOutputStream oos) throws IOException, ClassNotFoundException {
+
+      expiryDurationsRequests.incrementAndGet();
+      if (expiryPolicy == null) {
+        throw new NullPointerException("The ExpiryPolicy for the ExpiryPolicyServer has not be set");
+      } else if (!durationsConstant) {
+        oos.writeObject(null);
+      } else {
+        try {
+          Duration[] durations = new Duration[EntryOperation.values().length];
+          durations[EntryOperation.CREATION.ordinal()] = expiryPolicy.getExpiryForCreation();
+          durations[EntryOperation.ACCESSED.ordinal()] = expiryPolicy.getExpiryForAccess();
+          durations[EntryOperation.UPDATED.ordinal()] = expiryPolicy.getExpiryForUpdate();
+          oos.writeObject(durations);
+        } catch (Exception e) {
+          oos.writeObject(e);
+        }
+      }
+    }
+  }
 }
@@ -6,6 +6,8 @@
  */
 package org.jsr107.tck.integration;
 
+import org.jsr107.tck.support.ChangeSignal;
+
 import javax.cache.Cache;
 import javax.cache.integration.CacheWriter;
 import java.util.Collection;
@@ -43,6 +45,11 @@ public class RecordingCacheWriter<K, V> implements CacheWriter<K, V>, AutoClosea
      */
     private AtomicLong deleteCount;
 
+    /**
+     * Signalled after every write, delete and clear.
+     */
+    private final ChangeSignal changeSignal = new ChangeSignal();
+
     /**
      * Constructs a RecordingCacheWriter.
      */
@@ -57,6 +64,7 @@ public class RecordingCacheWriter<K, V> implements CacheWriter<K, V>, AutoClosea
     public void write(Cache.Entry<? extends K, ? extends V> entry) {
         writtenKeys.put(entry.getKey(), entry.getValue());
         writeCount.incrementAndGet();
+        changeSignal.signal();
     }
 
     @Override
@@ -75,6 +83,7 @@ public class RecordingCacheWriter<K, V> implements CacheWriter<K, V>, AutoClosea
             deletedEntries.put((K) key, value);
         }
         deleteCount.incrementAndGet();
+        changeSignal.signal();
     }
 
     @Override
@@ -141,6 +150,16 @@ public class RecordingCacheWriter<K, V> implements CacheWriter<K, V>, AutoClosea
         deletedEntries.clear();
         this.writeCount = new AtomicLong();
         this.deleteCount = new AtomicLong();
+        changeSignal.signal();
+    }
+
+    /**
+     * Gets the {@link ChangeSignal} signalled whenever the recorded writes or deletes change.
+     *
+     * @return the {@link ChangeSignal}
+     */
+    public ChangeSignal getChangeSignal() {
+        return changeSignal;
     }
 
   @Override
@@ -0,0 +1,61 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.support;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A monitor that recording test fixtures signal whenever their recorded state changes,
+ * so that a test waiting for a particular state can wake up as soon as it may have
+ * been reached rather than polling.
+ * <p>
+ * Each signal increments a version. A waiter reads the version, checks its
+ * condition and, if the condition does not hold yet, waits for the version to change.
+ */
+public class ChangeSignal implements Serializable {
+
+  /**
+   * The number of changes signalled so far.
+   */
+  private long version;
+
+  /**
+   * Signals that the recorded state has changed, waking up all waiters.
+   */
+  public synchronized void signal() {
+    version++;
+    notifyAll();
+  }
+
+  /**
+   * Obtains the number of changes signalled so far.
+   *
+   * @return the current version
+   */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Waits until a change is signalled after the given version, or the timeout elapses.
+   *
+   * @param seenVersion  the version the caller last observed
+   * @param timeoutNanos the maximum time to wait in nanoseconds
+   * @return true if a change was signalled
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public synchronized boolean awaitChange(long seenVersion, long timeoutNanos) throws InterruptedException {
+    long deadline = System.nanoTime() + timeoutNanos;
+    long remaining = timeoutNanos;
+    while (version == seenVersion && remaining > 0) {
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+      remaining = deadline - System.nanoTime();
+    }
+    return version != seenVersion;
+  }
+}
@@ -29,6 +29,16 @@ import java.util.logging.Logger;
  */
 public class Client implements AutoCloseable {
 
+  /**
+   * The time each thread spent invoking {@link Operation}s with any {@link Client}.
+   */
+  private static final ThreadLocal<long[]> THREAD_INVOCATION_NANOS = new ThreadLocal<long[]>() {
+    @Override
+    protected long[] initialValue() {
+      return new long[1];
+    }
+  };
+
   /**
    * The port on which the {@link Server} is running.
    */
@@ -58,6 +68,16 @@ public class Client implements AutoCloseable {
    */
   private ObjectInputStream ois;
 
+  /**
+   * The bytes written to the {@link Server}.
+   */
+  private CountingOutputStream written;
+
+  /**
+   * The bytes read from the {@link Server}.
+   */
+  private CountingInputStream read;
+
   /**
    * Constructs a {@link Client} that will auto connect to a {@link Server}
    * on the specified port.
@@ -79,21 +99,55 @@ public class Client implements AutoCloseable {
     } catch (IOException ioe) {
         throw new IOException("Client failed to connect to server at " + address + ":" + port, ioe);
     }
-    this.oos = new ObjectOutputStream(socket.getOutputStream());
-    this.ois = new ObjectInputStream(socket.getInputStream());
+    this.written = new CountingOutputStream(socket.getOutputStream());
+    this.oos = new ObjectOutputStream(written);
+    this.read = new CountingInputStream(socket.getInputStream());
+    this.ois = new ObjectInputStream(read);
   }
 
   /**
    * Invokes the specified {@link Operation} on the {@link Server}.
+   * <p>
+   * The time spent, including waiting for other threads using this {@link Client},
+   * is added to the {@link #getThreadInvocationNanos()} of the calling thread. The
+   * time spent once this {@link Client} is acquired, and the bytes exchanged with
+   * the {@link Server}, are recorded as a {@link FlightRecorderEvents#CLIENT_INVOKE} event.
+   * </p>
    *
    * @param operation the {@link Operation} to be performed
    * @param <T>       the type of the result
    * @return the result of the {@link Operation}
    */
-  public synchronized <T> T invoke(Operation<T> operation) {
+  public <T> T invoke(Operation<T> operation) {
+    long start = System.nanoTime();
+    try {
+      return invokeExclusively(operation);
+    } finally {
+      THREAD_INVOCATION_NANOS.get()[0] += System.nanoTime() - start;
+    }
+  }
+
+  /**
+   * Obtains the time the calling thread spent in {@link #invoke(Operation)} of any
+   * {@link Client}, which is the time it was blocked on {@link Server}s.
+   * <p>
+   * Invocations made by other threads, such as those of an implementation
+   * notifying listeners asynchronously, are not included.
+   * </p>
+   *
+   * @return the total time in nanoseconds
+   */
+  public static long getThreadInvocationNanos() {
+    return THREAD_INVOCATION_NANOS.get()[0];
+  }
+
+  private synchronized <T> T invokeExclusively(Operation<T> operation) {
     if (socket == null) {
       throw new IllegalStateException("Can't execute an operation as the Client is disconnected");
     } else {
+      FlightRecorderEvents.Event event = FlightRecorderEvents.CLIENT_INVOKE.begin();
+      long writtenBefore = written.getCount();
+      long readBefore = read.getCount();
       try {
         oos.writeObject(operation.getType());
         return operation.onInvoke(ois, oos);
@@ -101,6 +155,11 @@ public class Client implements AutoCloseable {
         throw e;
       } catch (Exception e) {
         throw new RuntimeException("Failed to perform operation " + operation.getType(), e);
+      } finally {
+        event.set("operation", operation.getType())
+            .set("bytesWritten", written.getCount() - writtenBefore)
+            .set("bytesRead", read.getCount() - readBefore)
+            .commit();
       }
     }
   }
@@ -0,0 +1,71 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.support;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that counts the bytes read through it, used to report
+ * the traffic of {@link Client}s and {@link Server}s.
+ */
+class CountingInputStream extends FilterInputStream {
+
+  /**
+   * The number of bytes read so far.
+   */
+  private long count;
+
+  /**
+   * Constructs a {@link CountingInputStream}.
+   *
+   * @param in the {@link InputStream} to read from
+   */
+  CountingInputStream(InputStream in) {
+    super(in);
+  }
+
+  /**
+   * Obtains the number of bytes read so far.
+   *
+   * @return the number of bytes
+   */
+  long getCount() {
+    return count;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = in.read();
+    if (b >= 0) {
+      count++;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int n = in.read(b, off, len);
+    if (n > 0) {
+      count += n;
+    }
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = in.skip(n);
+    count += skipped;
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+}
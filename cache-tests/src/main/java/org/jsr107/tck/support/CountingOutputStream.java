@@ -0,0 +1,53 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.support;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link OutputStream} that counts the bytes written through it, used to report
+ * the traffic of {@link Client}s and {@link Server}s.
+ */
+class CountingOutputStream extends FilterOutputStream {
+
+  /**
+   * The number of bytes written so far.
+   */
+  private long count;
+
+  /**
+   * Constructs a {@link CountingOutputStream}.
+   *
+   * @param out the {@link OutputStream} to write to
+   */
+  CountingOutputStream(OutputStream out) {
+    super(out);
+  }
+
+  /**
+   * Obtains the number of bytes written so far.
+   *
+   * @return the number of bytes
+   */
+  long getCount() {
+    return count;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    out.write(b);
+    count++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    out.write(b, off, len);
+    count += len;
+  }
+}
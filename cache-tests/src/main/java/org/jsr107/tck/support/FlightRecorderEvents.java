@@ -0,0 +1,347 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.support;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Optional JDK Flight Recorder events emitted by the TCK, so that a recording of a
+ * TCK run attributes time among the implementation, the {@link Client}/{@link Server}
+ * traffic of the customizations and the test scaffolding.
+ * <p>
+ * The events are only emitted when the {@link #ENABLED_PROPERTY} system property is
+ * {@code true} and the JVM provides the {@code jdk.jfr} API, which is used through
+ * reflection so that the TCK still compiles for and runs on Java 7. Otherwise
+ * {@link Type#begin()} returns an {@link Event} that does nothing. The events are
+ * defined at runtime with {@code jdk.jfr.EventFactory} and appear in the
+ * "JSR107 TCK" category of the recording.
+ * </p>
+ */
+public final class FlightRecorderEvents {
+
+  /**
+   * name of system property to enable the events, if set to true
+   */
+  public static final String ENABLED_PROPERTY = "org.jsr107.tck.jfr.enabled";
+
+  /**
+   * An {@link Operation} invoked by a {@link Client}, from sending the operation
+   * type until its result has been read.
+   */
+  public static final Type CLIENT_INVOKE = new Type("org.jsr107.tck.ClientInvoke", "Client Invoke", "Support",
+      "An Operation invoked by a Client, from sending its type until its result has been read")
+      .text("operation", "Operation")
+      .bytes("bytesWritten", "Bytes Written")
+      .bytes("bytesRead", "Bytes Read");
+
+  /**
+   * An {@link Operation} handled by a {@link Server}, from receiving the operation
+   * type until the {@link OperationHandler} has returned.
+   */
+  public static final Type SERVER_DISPATCH = new Type("org.jsr107.tck.ServerDispatch", "Server Dispatch", "Support",
+      "An Operation handled by a Server, from receiving its type until the OperationHandler returned")
+      .text("operation", "Operation")
+      .bytes("bytesRead", "Bytes Read")
+      .bytes("bytesWritten", "Bytes Written");
+
+  /**
+   * The set up or tear down of the cache used by a test.
+   */
+  public static final Type TEST_FIXTURE = new Type("org.jsr107.tck.TestFixture", "Test Fixture", "Test",
+      "The set up or tear down of the cache used by a test")
+      .text("test", "Test")
+      .text("phase", "Phase")
+      .text("cacheName", "Cache Name");
+
+  /**
+   * A test method, including its fixture.
+   */
+  public static final Type TEST = new Type("org.jsr107.tck.Test", "Test", "Test",
+      "A test method, including its fixture")
+      .text("test", "Test")
+      .text("outcome", "Outcome")
+      .bytes("allocatedBytes", "Allocated Bytes");
+
+  private static final Logger LOG = Logger.getLogger(FlightRecorderEvents.class.getName());
+
+  private static final Event DISABLED = new Event(null, null);
+
+  private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY) && Jfr.isAvailable();
+
+  private FlightRecorderEvents() {
+    //utility class
+  }
+
+  /**
+   * Determines if the events are emitted.
+   *
+   * @return true if enabled with {@link #ENABLED_PROPERTY} and supported by the JVM
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * The definition of an event, registered with the Flight Recorder when first used.
+   */
+  public static final class Type {
+
+    private final String name;
+    private final String label;
+    private final String category;
+    private final String description;
+
+    private final List<String> fieldNames = new ArrayList<String>();
+    private final List<Class<?>> fieldTypes = new ArrayList<Class<?>>();
+    private final List<String> fieldLabels = new ArrayList<String>();
+    private final Map<String, Integer> fieldIndexes = new HashMap<String, Integer>();
+
+    // the jdk.jfr.EventFactory, once registered
+    private Object factory;
+
+    private Type(String name, String label, String category, String description) {
+      this.name = name;
+      this.label = label;
+      this.category = category;
+      this.description = description;
+    }
+
+    private Type text(String fieldName, String fieldLabel) {
+      return field(fieldName, String.class, fieldLabel);
+    }
+
+    private Type bytes(String fieldName, String fieldLabel) {
+      return field(fieldName, long.class, fieldLabel);
+    }
+
+    private Type field(String fieldName, Class<?> fieldType, String fieldLabel) {
+      fieldIndexes.put(fieldName, fieldNames.size());
+      fieldNames.add(fieldName);
+      fieldTypes.add(fieldType);
+      fieldLabels.add(fieldLabel);
+      return this;
+    }
+
+    /**
+     * Starts timing an event of this type.
+     *
+     * @return the started {@link Event}, which does nothing when the events are
+     *         not enabled or no recording is interested in them
+     */
+    public Event begin() {
+      if (!ENABLED) {
+        return DISABLED;
+      }
+      try {
+        Object event = Jfr.newEvent(getFactory());
+        if (!Jfr.isEnabled(event)) {
+          return DISABLED;
+        }
+        Jfr.begin(event);
+        return new Event(this, event);
+      } catch (Exception e) {
+        LOG.log(Level.FINE, "Failed to create event " + name, e);
+        return DISABLED;
+      }
+    }
+
+    private synchronized Object getFactory() throws Exception {
+      if (factory == null) {
+        List<Object> fields = new ArrayList<Object>();
+        for (int i = 0; i < fieldNames.size(); i++) {
+          fields.add(Jfr.field(fieldTypes.get(i), fieldNames.get(i), fieldLabels.get(i), fieldTypes.get(i) == long.class));
+        }
+        factory = Jfr.createFactory(name, label, category, description, fields);
+      }
+      return factory;
+    }
+  }
+
+  /**
+   * A timed event, committed to the recording once its fields have been set.
+   * <p>
+   * An {@link Event} must be committed by the thread that began it.
+   * </p>
+   */
+  public static final class Event {
+
+    private final Type type;
+    private final Object event;
+
+    private Event(Type type, Object event) {
+      this.type = type;
+      this.event = event;
+    }
+
+    /**
+     * Sets a field of the event.
+     *
+     * @param field the name of the field
+     * @param value the value, a {@link String} for the text fields
+     * @return this {@link Event}
+     */
+    public Event set(String field, Object value) {
+      if (event != null) {
+        Integer index = type.fieldIndexes.get(field);
+        if (index == null) {
+          throw new IllegalArgumentException("Event " + type.name + " has no field " + field);
+        }
+        try {
+          Jfr.set(event, index, value);
+        } catch (Exception e) {
+          LOG.log(Level.FINE, "Failed to set " + field + " of event " + type.name, e);
+        }
+      }
+      return this;
+    }
+
+    /**
+     * Sets a numeric field of the event, without boxing the value unless the
+     * event is recorded.
+     *
+     * @param field the name of the field
+     * @param value the value
+     * @return this {@link Event}
+     */
+    public Event set(String field, long value) {
+      return event == null ? this : set(field, (Object) value);
+    }
+
+    /**
+     * Ends timing the event and writes it to the recording.
+     */
+    public void commit() {
+      if (event != null) {
+        try {
+          Jfr.commit(event);
+        } catch (Exception e) {
+          LOG.log(Level.FINE, "Failed to commit event " + type.name, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * The reflective access to the {@code jdk.jfr} API.
+   */
+  private static final class Jfr {
+
+    private static final String CATEGORY = "JSR107 TCK";
+
+    private static Constructor<?> annotationElement;
+    private static Constructor<?> valueDescriptor;
+    private static Method create;
+    private static Method newEvent;
+    private static Method isEnabled;
+    private static Method begin;
+    private static Method set;
+    private static Method end;
+    private static Method commit;
+
+    private static Class<? extends Annotation> nameAnnotation;
+    private static Class<? extends Annotation> labelAnnotation;
+    private static Class<? extends Annotation> descriptionAnnotation;
+    private static Class<? extends Annotation> categoryAnnotation;
+    private static Class<? extends Annotation> dataAmountAnnotation;
+
+    private static final boolean AVAILABLE = initialize();
+
+    private Jfr() {
+      //utility class
+    }
+
+    static boolean isAvailable() {
+      return AVAILABLE;
+    }
+
+    private static boolean initialize() {
+      try {
+        Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+        Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+        Class<?> eventClass = Class.forName("jdk.jfr.Event");
+
+        annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+        valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+        create = eventFactoryClass.getMethod("create", List.class, List.class);
+        newEvent = eventFactoryClass.getMethod("newEvent");
+        isEnabled = eventClass.getMethod("isEnabled");
+        begin = eventClass.getMethod("begin");
+        set = eventClass.getMethod("set", int.class, Object.class);
+        end = eventClass.getMethod("end");
+        commit = eventClass.getMethod("commit");
+
+        nameAnnotation = annotation("jdk.jfr.Name");
+        labelAnnotation = annotation("jdk.jfr.Label");
+        descriptionAnnotation = annotation("jdk.jfr.Description");
+        categoryAnnotation = annotation("jdk.jfr.Category");
+        dataAmountAnnotation = annotation("jdk.jfr.DataAmount");
+        return true;
+      } catch (Exception e) {
+        LOG.log(Level.WARNING, ENABLED_PROPERTY + " is set but this JVM does not support Flight Recorder events", e);
+        return false;
+      }
+    }
+
+    private static Class<? extends Annotation> annotation(String className) throws ClassNotFoundException {
+      return Class.forName(className).asSubclass(Annotation.class);
+    }
+
+    private static Object annotationElement(Class<? extends Annotation> annotation, Object value) throws Exception {
+      return annotationElement.newInstance(annotation, value);
+    }
+
+    static Object field(Class<?> type, String name, String label, boolean bytes) throws Exception {
+      List<Object> annotations = new ArrayList<Object>();
+      annotations.add(annotationElement(labelAnnotation, label));
+      if (bytes) {
+        annotations.add(annotationElement(dataAmountAnnotation, "BYTES"));
+      }
+      return valueDescriptor.newInstance(type, name, annotations);
+    }
+
+    static Object createFactory(String name, String label, String category, String description, List<Object> fields)
+        throws Exception {
+      List<Object> annotations = Arrays.asList(
+          annotationElement(nameAnnotation, name),
+          annotationElement(labelAnnotation, label),
+          annotationElement(descriptionAnnotation, description),
+          annotationElement(categoryAnnotation, new String[] {CATEGORY, category}));
+      return create.invoke(null, annotations, Collections.unmodifiableList(fields));
+    }
+
+    static Object newEvent(Object factory) throws Exception {
+      return newEvent.invoke(factory);
+    }
+
+    static boolean isEnabled(Object event) throws Exception {
+      return (Boolean) isEnabled.invoke(event);
+    }
+
+    static void begin(Object event) throws Exception {
+      begin.invoke(event);
+    }
+
+    static void set(Object event, int index, Object value) throws Exception {
+      set.invoke(event, index, value);
+    }
+
+    static void commit(Object event) throws Exception {
+      end.invoke(event);
+      commit.invoke(event);
+    }
+  }
+}
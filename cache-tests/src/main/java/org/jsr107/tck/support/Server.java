@@ -43,6 +43,11 @@ public class Server implements AutoCloseable {
      */
     public static final  Logger LOG = Logger.getLogger(Server.class.getName());
 
+    /**
+     * The prefix of the names of the threads of all {@link Server}s.
+     */
+    public static final String THREAD_NAME_PREFIX = Server.class.getName();
+
     /**
      * Special operation to signal the server that the client has been closed.
      */
@@ -164,7 +169,7 @@ public class Server implements AutoCloseable {
                         isTerminating.compareAndSet(false, true);
                     }
                 }
-            });
+            }, THREAD_NAME_PREFIX + "-" + port);
 
             serverThread.start();
         }
@@ -248,6 +253,8 @@ public class Server implements AutoCloseable {
     /**
      * Asynchronously handles {@link Client} requests via a {@link Socket} using the
      * defined {@link OperationHandler}s.
+     * <p>
+     * Each request handled is recorded as a {@link FlightRecorderEvents#SERVER_DISPATCH} event.
      */
     private class ClientConnection extends Thread implements AutoCloseable {
 
@@ -269,6 +276,7 @@ public class Server implements AutoCloseable {
          *                 {@link Client} requests
          */
         public ClientConnection(int identity, Socket socket) {
+            super(THREAD_NAME_PREFIX + "-" + port + "-connection-" + identity);
             this.identity = identity;
             this.socket = socket;
         }
@@ -289,11 +297,14 @@ public class Server implements AutoCloseable {
         public void run() {
 
             try {
-                ObjectOutputStream oos = new ObjectOutputStream(socket.getOutputStream());
-                ObjectInputStream ois = new ObjectInputStream(socket.getInputStream());
+                CountingOutputStream written = new CountingOutputStream(socket.getOutputStream());
+                ObjectOutputStream oos = new ObjectOutputStream(written);
+                CountingInputStream read = new CountingInputStream(socket.getInputStream());
+                ObjectInputStream ois = new ObjectInputStream(read);
 
                 while (true) {
                     try {
+                        long readBefore = read.getCount();
                         String operation = (String) ois.readObject();
                         if (CLOSE_OPERATION.getType().equals(operation)) {
                             // regular close, remove before closing
@@ -307,7 +318,16 @@ public class Server implements AutoCloseable {
                         OperationHandler handler = Server.this.operationHandlers.get(operation);
 
                         if (handler != null) {
-                            handler.onProcess(ois, oos);
+                            FlightRecorderEvents.Event event = FlightRecorderEvents.SERVER_DISPATCH.begin();
+                            long writtenBefore = written.getCount();
+                            try {
+                                handler.onProcess(ois, oos);
+                            } finally {
+                                event.set("operation", operation)
+                                    .set("bytesRead", read.getCount() - readBefore)
+                                    .set("bytesWritten", written.getCount() - writtenBefore)
+                                    .commit();
+                            }
                         }
                     } catch (ClassNotFoundException e) {
                         e.printStackTrace();
@@ -351,7 +371,9 @@ public class Server implements AutoCloseable {
         final int ephemeralPort = 0;
         ServerSocket result = null;
         try {
-            result = new ServerSocket(port, 50, getServerInetAddress());
+            // parallel workers would compete for the requested port
+            result = new ServerSocket(Worker.isParallel() ? ephemeralPort : port, 50, getServerInetAddress());
+            this.port = result.getLocalPort();
         } catch (IOException e) {
 
             // requested port may still be in use due to linger on close on some OSs,
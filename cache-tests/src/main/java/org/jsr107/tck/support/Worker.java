@@ -0,0 +1,89 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.support;
+
+import java.net.URI;
+
+/**
+ * Identifies the worker running the TCK when several workers, such as forked
+ * JVMs, run it in parallel.
+ * <p>
+ * When the {@link #WORKER_PROPERTY} system property is set, the tests use cache
+ * names unique to the worker, and {@link Server}s listen on ephemeral ports, so
+ * that workers sharing a machine or a clustered implementation do not interfere
+ * with each other.
+ * </p>
+ * <p>
+ * The workers keep using the default {@link javax.cache.CacheManager} of the
+ * implementation, as many implementations read any other {@link URI} as the
+ * location of a configuration. An implementation that accepts further
+ * {@link URI}s may give each worker its own {@link javax.cache.CacheManager} with
+ * the {@link #URI_PROPERTY} system property.
+ * </p>
+ */
+public final class Worker {
+
+  /**
+   * name of system property to obtain the identity of the worker, if set
+   */
+  public static final String WORKER_PROPERTY = "org.jsr107.tck.worker";
+
+  /**
+   * name of system property to obtain the {@link URI} of the CacheManager of each worker, if set,
+   * in which {@value #WORKER_PLACEHOLDER} is replaced by the identity of the worker
+   */
+  public static final String URI_PROPERTY = "org.jsr107.tck.worker.uri";
+
+  /**
+   * The placeholder for the identity of the worker in the {@link #URI_PROPERTY}.
+   */
+  public static final String WORKER_PLACEHOLDER = "{worker}";
+
+  private Worker() {
+    //utility class
+  }
+
+  /**
+   * @return true if the TCK is being run by one of several parallel workers
+   */
+  public static boolean isParallel() {
+    return getId() != null;
+  }
+
+  /**
+   * @return the identity of this worker, or null when not running in parallel
+   */
+  public static String getId() {
+    String id = System.getProperty(WORKER_PROPERTY);
+    return id == null || id.trim().length() == 0 ? null : id.trim();
+  }
+
+  /**
+   * Makes a name unique to this worker.
+   *
+   * @param name the name shared by all workers
+   * @return the name for this worker, which is the same name when not running in parallel
+   */
+  public static String uniqueName(String name) {
+    return isParallel() ? name + "-worker-" + getId() : name;
+  }
+
+  /**
+   * Obtains the {@link URI} of the CacheManager of this worker.
+   *
+   * @param uri the {@link URI} shared by all workers
+   * @return the {@link URI} configured with {@link #URI_PROPERTY} for this worker, or the same {@link URI}
+   *         when not running in parallel or when none is configured
+   */
+  public static URI uniqueURI(URI uri) {
+    String template = System.getProperty(URI_PROPERTY);
+    if (!isParallel() || template == null || template.trim().length() == 0) {
+      return uri;
+    }
+    return URI.create(template.trim().replace(WORKER_PLACEHOLDER, getId()));
+  }
+}
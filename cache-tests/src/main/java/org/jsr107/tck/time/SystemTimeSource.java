@@ -0,0 +1,39 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.time;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The wall clock {@link TimeSource}, used when an implementation does not register one.
+ */
+public class SystemTimeSource implements TimeSource {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void advance(long amount, TimeUnit unit) throws InterruptedException {
+    unit.sleep(amount);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isVirtual() {
+    return false;
+  }
+}
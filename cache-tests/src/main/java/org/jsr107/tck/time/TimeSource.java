@@ -0,0 +1,47 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.time;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SPI used by an implementation to expose the clock it uses for expiry to the TCK.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader}. A registered
+ * {@link TimeSource} must be the clock the implementation's caches consult, so that
+ * advancing it makes entries expire exactly as if the time had elapsed.
+ *
+ * @see TimeSources#getTimeSource()
+ */
+public interface TimeSource {
+
+  /**
+   * Obtains the current time of this {@link TimeSource}.
+   *
+   * @return the current time in milliseconds
+   */
+  long currentTimeMillis();
+
+  /**
+   * Lets the given amount of time pass.
+   * <p>
+   * A virtual clock moves forward and returns immediately; the wall clock sleeps.
+   *
+   * @param amount the amount of time
+   * @param unit   the {@link TimeUnit} of the amount
+   * @throws InterruptedException if interrupted while waiting
+   */
+  void advance(long amount, TimeUnit unit) throws InterruptedException;
+
+  /**
+   * Determines if this {@link TimeSource} is a virtual clock that is only moved by
+   * {@link #advance(long, TimeUnit)}.
+   *
+   * @return true for a virtual clock
+   */
+  boolean isVirtual();
+}
@@ -0,0 +1,56 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.time;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resolves the {@link TimeSource} used by the TCK.
+ */
+public final class TimeSources {
+
+  /**
+   * The logger
+   */
+  private static final Logger LOG = Logger.getLogger(TimeSources.class.getName());
+
+  /**
+   * The resolved {@link TimeSource}.
+   */
+  private static final TimeSource TIME_SOURCE = loadTimeSource();
+
+  private TimeSources() {
+    //utility class
+  }
+
+  /**
+   * Obtains the {@link TimeSource} registered by the implementation, or the
+   * {@link SystemTimeSource} if there is none.
+   *
+   * @return the {@link TimeSource}
+   */
+  public static TimeSource getTimeSource() {
+    return TIME_SOURCE;
+  }
+
+  private static TimeSource loadTimeSource() {
+    try {
+      Iterator<TimeSource> it = ServiceLoader.load(TimeSource.class).iterator();
+      if (it.hasNext()) {
+        TimeSource timeSource = it.next();
+        LOG.info("Using TimeSource " + timeSource.getClass().getName());
+        return timeSource;
+      }
+    } catch (Throwable t) {
+      LOG.log(Level.WARNING, "Failed to load TimeSource SPI impl, using the wall clock", t);
+    }
+    return new SystemTimeSource();
+  }
+}
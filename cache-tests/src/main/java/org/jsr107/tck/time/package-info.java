@@ -0,0 +1,17 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+
+/**
+ * This package contains an optional SPI that lets the TCK control the clock an
+ * implementation uses for expiry.
+ *
+ * An implementation that supports it registers a {@link org.jsr107.tck.time.TimeSource}
+ * in META-INF/services/org.jsr107.tck.time.TimeSource. Tests that need time to pass then
+ * advance the virtual clock instead of sleeping. Without a registered
+ * {@link org.jsr107.tck.time.TimeSource} the wall clock is used.
+ */
+package org.jsr107.tck.time;
@@ -14,7 +14,6 @@ import org.junit.Test;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
-import javax.cache.Caching;
 import javax.cache.configuration.Factory;
 import javax.cache.configuration.FactoryBuilder;
 import javax.cache.configuration.MutableConfiguration;
@@ -38,7 +37,7 @@ public class ExpiryPolicyTest extends TestSupport {
   @Before
   public void setup()
   {
-    cacheManager = Caching.getCachingProvider().getCacheManager();
+    cacheManager = getCacheManager();
   }
 
   @After
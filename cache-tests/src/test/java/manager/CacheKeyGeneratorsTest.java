@@ -0,0 +1,135 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package manager;
+
+import domain.Identifier;
+import domain.Identifier2;
+import org.jsr107.tck.testutil.HashCodeDistribution;
+import org.jsr107.tck.testutil.ThreadMetrics;
+import org.junit.Test;
+
+import javax.cache.annotation.CacheKeyGenerator;
+import javax.cache.annotation.GeneratedCacheKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Unit tests of the {@link SingleValueCacheKeyGenerator} and the
+ * {@link PrimitiveCacheKeyGenerator} used by the annotation tests, called directly
+ * rather than through an interceptor.
+ */
+public class CacheKeyGeneratorsTest {
+
+  private static final Logger LOG = Logger.getLogger(CacheKeyGeneratorsTest.class.getName());
+
+  private static final String CACHE_NAME = "keyGeneratingBlogManager";
+
+  private static final int DISTRIBUTION_KEYS = 10000;
+
+  @Test
+  public void generatedKeysHonourEqualsAndHashCode() throws Exception {
+    assertKeysEqual(new SingleValueCacheKeyGenerator(), "title a", "title a");
+    assertKeysEqual(new SingleValueCacheKeyGenerator(), new Identifier("a"), new Identifier("a"));
+    //the transient time stamp of Identifier2 must not matter
+    Identifier2 first = new Identifier2("a");
+    Thread.sleep(2);
+    assertKeysEqual(new SingleValueCacheKeyGenerator(), first, new Identifier2("a"));
+    assertKeysEqual(new PrimitiveCacheKeyGenerator(), 7L, 7L);
+    assertKeysEqual(new PrimitiveCacheKeyGenerator(), 7, 7L);
+    assertKeysEqual(new PrimitiveCacheKeyGenerator(), Long.MAX_VALUE, Long.MAX_VALUE);
+
+    assertNotEquals(generate(new SingleValueCacheKeyGenerator(), "title a"),
+        generate(new SingleValueCacheKeyGenerator(), "title b"));
+    assertNotEquals(generate(new PrimitiveCacheKeyGenerator(), 7L), generate(new PrimitiveCacheKeyGenerator(), 8L));
+    assertNotEquals(generate(new PrimitiveCacheKeyGenerator(), 7L), generate(new SingleValueCacheKeyGenerator(), 7L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void primitiveKeyGeneratorRejectsNonIntegralNumbers() {
+    generate(new PrimitiveCacheKeyGenerator(), 7.5d);
+  }
+
+  @Test
+  public void preallocatedPrimitiveKeysAreShared() {
+    assertSame(PrimitiveCacheKeyGenerator.valueOf(7), generate(new PrimitiveCacheKeyGenerator(), 7L));
+  }
+
+  @Test
+  public void primitiveKeyGeneratorDoesNotAllocate() {
+    assumeTrue(ThreadMetrics.currentThreadAllocatedBytes() >= 0);
+
+    PrimitiveCacheKeyGenerator generator = new PrimitiveCacheKeyGenerator();
+    FixedCacheKeyInvocationContext[] contexts = new FixedCacheKeyInvocationContext[PrimitiveCacheKeyGenerator.PREALLOCATED];
+    for (int i = 0; i < contexts.length; i++) {
+      contexts[i] = new FixedCacheKeyInvocationContext(CACHE_NAME, (long) i);
+    }
+    int iterations = 100 * contexts.length;
+
+    int hash = 0;
+    long before = ThreadMetrics.currentThreadAllocatedBytes();
+    for (int i = 0; i < iterations; i++) {
+      hash += generator.generateCacheKey(contexts[i % contexts.length]).hashCode();
+    }
+    long allocated = ThreadMetrics.currentThreadAllocatedBytes() - before;
+
+    LOG.info(String.format("PrimitiveCacheKeyGenerator: %.3f bytes/key (hash %d)", allocated / (double) iterations, hash));
+    assertTrue("allocated " + allocated + " bytes for " + iterations + " keys", allocated < iterations);
+  }
+
+  @Test
+  public void hashCodeDistribution() {
+    List<GeneratedCacheKey> singleValueKeys = new ArrayList<GeneratedCacheKey>();
+    List<GeneratedCacheKey> primitiveKeys = new ArrayList<GeneratedCacheKey>();
+    for (int i = 0; i < DISTRIBUTION_KEYS; i++) {
+      singleValueKeys.add(generate(new SingleValueCacheKeyGenerator(), "title " + i));
+      primitiveKeys.add(generate(new PrimitiveCacheKeyGenerator(), (long) i));
+    }
+    assertTrue(HashCodeDistribution.report("SingleValueCacheKeyGenerator", singleValueKeys) > 0.99);
+    assertTrue(HashCodeDistribution.report("PrimitiveCacheKeyGenerator", primitiveKeys) > 0.99);
+  }
+
+  private static GeneratedCacheKey generate(CacheKeyGenerator generator, Object value) {
+    return generator.generateCacheKey(new FixedCacheKeyInvocationContext(CACHE_NAME, value));
+  }
+
+  private static void assertKeysEqual(CacheKeyGenerator generator, Object value, Object equalValue) throws Exception {
+    GeneratedCacheKey key = generate(generator, value);
+    GeneratedCacheKey equalKey = generate(generator, equalValue);
+    assertEquals(key, key);
+    assertEquals(key, equalKey);
+    assertEquals(equalKey, key);
+    assertEquals(key.hashCode(), equalKey.hashCode());
+    assertEquals(key.hashCode(), generate(generator, value).hashCode());
+    assertNotEquals(key, null);
+
+    if (value instanceof Serializable) {
+      GeneratedCacheKey copy = copy(key);
+      assertEquals(key, copy);
+      assertEquals(key.hashCode(), copy.hashCode());
+    }
+  }
+
+  private static GeneratedCacheKey copy(GeneratedCacheKey key) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(key);
+    out.close();
+    return (GeneratedCacheKey) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+  }
+}
@@ -65,4 +65,11 @@ public class AbstractInterceptionTest {
 
     return beanProvider.getBeanByType(beanClass);
   }
+
+  /**
+   * @return the class name of the {@link BeanProvider} of the harness under test, used to label reports
+   */
+  protected final String getBeanProviderName() {
+    return beanProvider == null ? "none" : beanProvider.getClass().getName();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.annotation;
+
+import domain.Blog;
+import domain.Identifier;
+import manager.KeyGeneratingBlogManagerImpl;
+import manager.PrimitiveCacheKeyGenerator;
+import org.jsr107.tck.testutil.HashCodeDistribution;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.cache.Cache;
+import javax.cache.Caching;
+import javax.cache.annotation.GeneratedCacheKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests {@link javax.cache.annotation.CacheResult} methods keyed with custom
+ * {@link javax.cache.annotation.CacheKeyGenerator}s, by numbers and by
+ * {@link Identifier}s.
+ * <p>
+ * The quality of the distribution of the hash codes of the keys generated by the
+ * implementation's default generator is reported through the logger. The TCK's own
+ * generators are tested by {@code manager.CacheKeyGeneratorsTest}.
+ * </p>
+ */
+public class InterceptionCacheKeyGeneratorTest extends AbstractInterceptionTest {
+
+  private static final Logger LOG = Logger.getLogger(InterceptionCacheKeyGeneratorTest.class.getName());
+
+  private static final String CACHE_NAME = "keyGeneratingBlogManager";
+
+  private static final int DISTRIBUTION_KEYS = 10000;
+
+  private KeyGeneratingBlogManagerImpl getBlogManager() {
+    return getBeanByType(KeyGeneratingBlogManagerImpl.class);
+  }
+
+  @Before
+  public void before() {
+    getBlogManager().clearCache();
+    KeyGeneratingBlogManagerImpl.resetReads();
+  }
+
+  @Test
+  public void customKeyGeneratorIsUsed() {
+    KeyGeneratingBlogManagerImpl blogManager = getBlogManager();
+    blogManager.createEntry(new Blog("title a", "body a"));
+
+    assertEquals("body a", blogManager.getEntryCachedBySingleValue("x", "title a", "y").getBody());
+    assertEquals(1, KeyGeneratingBlogManagerImpl.getReads());
+
+    //only the @CacheKey parameter is part of the key
+    assertEquals("body a", blogManager.getEntryCachedBySingleValue("z", "title a", "z").getBody());
+    assertEquals(1, KeyGeneratingBlogManagerImpl.getReads());
+
+    //the key generated by default differs from the custom one
+    assertEquals("body a", blogManager.getEntryCached("title a").getBody());
+    assertEquals(2, KeyGeneratingBlogManagerImpl.getReads());
+  }
+
+  @Test
+  public void primitiveKeyGeneratorIsUsed() {
+    KeyGeneratingBlogManagerImpl blogManager = getBlogManager();
+    long[] numbers = {7, PrimitiveCacheKeyGenerator.PREALLOCATED + 7, -7};
+    for (long number : numbers) {
+      blogManager.createEntry(new Blog(KeyGeneratingBlogManagerImpl.titleOf(number), "body " + number));
+    }
+
+    for (int round = 0; round < 2; round++) {
+      for (long number : numbers) {
+        assertEquals("body " + number, blogManager.getEntryCachedByNumber(number).getBody());
+      }
+    }
+    assertEquals(numbers.length, KeyGeneratingBlogManagerImpl.getReads());
+  }
+
+  @Test
+  public void identifierKeys() {
+    KeyGeneratingBlogManagerImpl blogManager = getBlogManager();
+    blogManager.createEntry(new Blog("identifier a", "body a"));
+
+    assertEquals("body a", blogManager.getEntryCachedByIdentifier(new Identifier("identifier a")).getBody());
+    assertEquals("body a", blogManager.getEntryCachedByIdentifier(new Identifier("identifier a")).getBody());
+    assertEquals(1, KeyGeneratingBlogManagerImpl.getReads());
+  }
+
+  @Test
+  public void defaultKeyDistribution() {
+    //the keys of the default generator are captured from the cache
+    KeyGeneratingBlogManagerImpl blogManager = getBlogManager();
+    for (int i = 0; i < DISTRIBUTION_KEYS; i++) {
+      blogManager.createEntry(new Blog("title " + i, "body " + i));
+      blogManager.getEntryCached("title " + i);
+    }
+    Cache<Object, Object> cache = Caching.getCachingProvider().getCacheManager().getCache(CACHE_NAME);
+    if (cache == null) {
+      LOG.info(getBeanProviderName() + " does not use the default CacheManager, default keys not reported");
+      return;
+    }
+    List<GeneratedCacheKey> defaultKeys = new ArrayList<GeneratedCacheKey>();
+    for (Cache.Entry<Object, Object> entry : cache) {
+      defaultKeys.add((GeneratedCacheKey) entry.getKey());
+    }
+    assertEquals(DISTRIBUTION_KEYS, defaultKeys.size());
+    HashCodeDistribution.report(getBeanProviderName() + " default key generator", defaultKeys);
+  }
+}
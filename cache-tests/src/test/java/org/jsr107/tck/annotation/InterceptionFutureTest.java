@@ -0,0 +1,181 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.annotation;
+
+import domain.Blog;
+import manager.AsyncBlogManager;
+import manager.AsyncBlogManagerImpl;
+import manager.BlogFuture;
+import manager.CompletedFutureBlogManagerImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link javax.cache.annotation.CacheResult} methods that return a
+ * {@link Future} of their result.
+ * <p>
+ * The specification says nothing about futures, so this only asserts that callers get
+ * the right blogs and that the body runs once per key when called sequentially. It
+ * reports through the logger whether the interceptor caches the future itself or a
+ * completed copy of it, whether concurrent callers share a computation in flight, and
+ * how long they wait compared with a caller of a blocking method.
+ * </p>
+ * The number of concurrent callers and the latency of a lookup may be set with the
+ * system properties {@value #THREADS_PROPERTY} and {@value #LATENCY_PROPERTY}.
+ */
+@RunWith(Parameterized.class)
+public class InterceptionFutureTest extends AbstractInterceptionTest {
+
+  /**
+   * name of system property to obtain the number of concurrent callers, if set
+   */
+  public static final String THREADS_PROPERTY = "org.jsr107.tck.annotation.future.threads";
+
+  /**
+   * name of system property to obtain the latency of a lookup in milliseconds, if set
+   */
+  public static final String LATENCY_PROPERTY = "org.jsr107.tck.annotation.future.latency.millis";
+
+  private static final Logger LOG = Logger.getLogger(InterceptionFutureTest.class.getName());
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        {AsyncBlogManagerImpl.class.getSimpleName(), AsyncBlogManagerImpl.class},
+        {CompletedFutureBlogManagerImpl.class.getSimpleName(), CompletedFutureBlogManagerImpl.class}
+    });
+  }
+
+  @Parameter(0)
+  public String name;
+
+  @Parameter(1)
+  public Class<? extends AsyncBlogManager> managerClass;
+
+  private AsyncBlogManager getBlogManager() {
+    return getBeanByType(managerClass);
+  }
+
+  @Before
+  public void before() {
+    getBlogManager().clearCache();
+    getBlogManager().clearBlockingCache();
+    getBlogManager().resetLookups();
+  }
+
+  @After
+  public void after() {
+    getBlogManager().setLookupLatencyMillis(0);
+  }
+
+  @Test
+  public void futureIsCached() throws Exception {
+    AsyncBlogManager blogManager = getBlogManager();
+    blogManager.createEntry(new Blog("title a", "body a"));
+
+    Future<Blog> first = blogManager.getEntryCached("title a");
+    assertEquals("body a", first.get().getBody());
+    Future<Blog> second = blogManager.getEntryCached("title a");
+    assertEquals("body a", second.get().getBody());
+    assertEquals(1, blogManager.getLookups());
+
+    String cached;
+    if (second == first) {
+      cached = "the future itself";
+    } else if (second instanceof BlogFuture && ((BlogFuture) second).isCompletedOnCreation()) {
+      cached = "a completed copy of the future";
+    } else {
+      cached = "another future";
+    }
+    LOG.info(String.format("%s %s: a @CacheResult method returning a future had %s cached",
+        getBeanProviderName(), name, cached));
+  }
+
+  @Test
+  public void concurrentCallersOfColdKey() throws Exception {
+    final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    long latencyMillis = Integer.getInteger(LATENCY_PROPERTY, 100);
+
+    final AsyncBlogManager blogManager = getBlogManager();
+    blogManager.createEntry(new Blog("title b", "body b"));
+    blogManager.setLookupLatencyMillis(latencyMillis);
+
+    final CyclicBarrier barrier = new CyclicBarrier(threads);
+    final List<Future<Blog>> results = Collections.synchronizedList(new ArrayList<Future<Blog>>());
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long returnedNanos = 0;
+    long completedNanos = 0;
+    try {
+      List<Future<long[]>> callers = new ArrayList<Future<long[]>>();
+      for (int i = 0; i < threads; i++) {
+        callers.add(executor.submit(new Callable<long[]>() {
+          @Override
+          public long[] call() throws Exception {
+            barrier.await();
+            long start = System.nanoTime();
+            Future<Blog> result = blogManager.getEntryCached("title b");
+            long returned = System.nanoTime();
+            assertEquals("body b", result.get().getBody());
+            results.add(result);
+            return new long[] {returned - start, System.nanoTime() - start};
+          }
+        }));
+      }
+      for (Future<long[]> caller : callers) {
+        long[] nanos = caller.get(latencyMillis * threads + 30000, TimeUnit.MILLISECONDS);
+        returnedNanos = Math.max(returnedNanos, nanos[0]);
+        completedNanos = Math.max(completedNanos, nanos[1]);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Set<Future<Blog>> distinct = Collections.newSetFromMap(new IdentityHashMap<Future<Blog>, Boolean>());
+    distinct.addAll(results);
+    int lookups = blogManager.getLookups();
+    assertTrue(lookups >= 1 && lookups <= threads);
+
+    //the blocking method has its own cache, so the key is still cold for it
+    long start = System.nanoTime();
+    assertEquals("body b", blogManager.getEntryCachedBlocking("title b").getBody());
+    long blockingNanos = System.nanoTime() - start;
+    assertEquals(lookups + 1, blogManager.getLookups());
+
+    LOG.info(String.format("%s %s: %d concurrent callers of a cold key with %d ms latency ran %d lookups " +
+            "and got %d distinct futures; slowest call returned in %.1f ms and completed in %.1f ms, " +
+            "a blocking call took %.1f ms",
+        getBeanProviderName(), name, threads, latencyMillis, lookups, distinct.size(),
+        millis(returnedNanos), millis(completedNanos), millis(blockingNanos)));
+  }
+
+  private static double millis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.annotation;
+
+import domain.Blog;
+import manager.BlogManager;
+import manager.InstrumentedBlogManagerImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Calls a {@link javax.cache.annotation.CacheResult} method for the same cold key
+ * from many threads at once and reports how many of them ran the method body, and
+ * the latency they saw.
+ * <p>
+ * The specification does not require an implementation to protect against such a
+ * stampede, so this only asserts that every caller gets the right result and that the
+ * result is cached afterwards. The number of body runs and the latency percentiles are
+ * reported through the logger, labelled with the harness under test.
+ * </p>
+ * The number of threads and the latency of the method body may be set with the
+ * system properties {@value #THREADS_PROPERTY} and {@value #LATENCY_PROPERTY}.
+ */
+public class InterceptionStampedeTest extends AbstractInterceptionTest {
+
+  /**
+   * name of system property to obtain the number of concurrent callers, if set
+   */
+  public static final String THREADS_PROPERTY = "org.jsr107.tck.annotation.stampede.threads";
+
+  /**
+   * name of system property to obtain the latency of the method body in milliseconds, if set
+   */
+  public static final String LATENCY_PROPERTY = "org.jsr107.tck.annotation.stampede.latency.millis";
+
+  private static final Logger LOG = Logger.getLogger(InterceptionStampedeTest.class.getName());
+
+  private BlogManager getBlogManager() {
+    return getBeanByType(InstrumentedBlogManagerImpl.class);
+  }
+
+  @Before
+  public void before() {
+    getBlogManager().clearCache();
+    InstrumentedBlogManagerImpl.resetReads();
+  }
+
+  @After
+  public void after() {
+    InstrumentedBlogManagerImpl.setReadLatencyMillis(0);
+  }
+
+  @Test
+  public void concurrentCallsForColdKey() throws Exception {
+    final int threads = Integer.getInteger(THREADS_PROPERTY, 16);
+    long latencyMillis = Integer.getInteger(LATENCY_PROPERTY, 100);
+
+    final String title = "stampede";
+    final String body = "" + System.currentTimeMillis();
+    final BlogManager blogManager = getBlogManager();
+    blogManager.createEntry(new Blog(title, body));
+    InstrumentedBlogManagerImpl.setReadLatencyMillis(latencyMillis);
+
+    final CyclicBarrier barrier = new CyclicBarrier(threads);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Long> latencies = new ArrayList<Long>();
+    try {
+      List<Future<Long>> futures = new ArrayList<Future<Long>>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(new Callable<Long>() {
+          @Override
+          public Long call() throws Exception {
+            barrier.await();
+            long start = System.nanoTime();
+            Blog blog = blogManager.getEntryCached(title);
+            long elapsed = System.nanoTime() - start;
+            assertNotNull(blog);
+            assertEquals(body, blog.getBody());
+            return elapsed;
+          }
+        }));
+      }
+      for (Future<Long> future : futures) {
+        latencies.add(future.get(latencyMillis * threads + 30000, TimeUnit.MILLISECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    int bodyRuns = InstrumentedBlogManagerImpl.getReads();
+    Collections.sort(latencies);
+    LOG.info(String.format("%s: %d concurrent callers of a cold @CacheResult method with %d ms latency ran its body " +
+            "%d times; latency p50=%.1f ms, p99=%.1f ms, max=%.1f ms",
+        getBeanProviderName(), threads, latencyMillis, bodyRuns,
+        millis(percentile(latencies, 50)), millis(percentile(latencies, 99)), millis(latencies.get(threads - 1))));
+
+    assertTrue(bodyRuns >= 1 && bodyRuns <= threads);
+
+    //the result must now be cached
+    InstrumentedBlogManagerImpl.resetReads();
+    assertEquals(body, blogManager.getEntryCached(title).getBody());
+    assertEquals(0, InstrumentedBlogManagerImpl.getReads());
+  }
+
+  private static long percentile(List<Long> sorted, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+    return sorted.get(Math.max(0, index));
+  }
+
+  private static double millis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,224 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.concurrent;
+
+import javax.cache.Cache;
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.MutableEntry;
+import java.io.Serializable;
+
+/**
+ * The atomic {@link Cache} operations whose histories are checked, each with its
+ * effect on a sequential model of a single entry, where {@code null} is absent.
+ */
+public enum CacheOperation {
+
+  /**
+   * {@link Cache#get(Object)}, used to observe the value.
+   */
+  GET("get") {
+    @Override
+    Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue) {
+      return cache.get(key);
+    }
+
+    @Override
+    Object expectedResult(Integer state, Invocation invocation) {
+      return state;
+    }
+
+    @Override
+    Integer apply(Integer state, Invocation invocation) {
+      return state;
+    }
+  },
+
+  /**
+   * {@link Cache#putIfAbsent(Object, Object)}.
+   */
+  PUT_IF_ABSENT("putIfAbsent") {
+    @Override
+    Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue) {
+      return cache.putIfAbsent(key, value);
+    }
+
+    @Override
+    Object expectedResult(Integer state, Invocation invocation) {
+      return state == null;
+    }
+
+    @Override
+    Integer apply(Integer state, Invocation invocation) {
+      return state == null ? invocation.getValue() : state;
+    }
+  },
+
+  /**
+   * {@link Cache#replace(Object, Object, Object)}.
+   */
+  REPLACE("replace") {
+    @Override
+    Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue) {
+      return cache.replace(key, value, otherValue);
+    }
+
+    @Override
+    Object expectedResult(Integer state, Invocation invocation) {
+      return invocation.getValue().equals(state);
+    }
+
+    @Override
+    Integer apply(Integer state, Invocation invocation) {
+      return invocation.getValue().equals(state) ? invocation.getOtherValue() : state;
+    }
+  },
+
+  /**
+   * {@link Cache#getAndPut(Object, Object)}.
+   */
+  GET_AND_PUT("getAndPut") {
+    @Override
+    Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue) {
+      return cache.getAndPut(key, value);
+    }
+
+    @Override
+    Object expectedResult(Integer state, Invocation invocation) {
+      return state;
+    }
+
+    @Override
+    Integer apply(Integer state, Invocation invocation) {
+      return invocation.getValue();
+    }
+  },
+
+  /**
+   * {@link Cache#getAndRemove(Object)}.
+   */
+  GET_AND_REMOVE("getAndRemove") {
+    @Override
+    Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue) {
+      return cache.getAndRemove(key);
+    }
+
+    @Override
+    Object expectedResult(Integer state, Invocation invocation) {
+      return state;
+    }
+
+    @Override
+    Integer apply(Integer state, Invocation invocation) {
+      return null;
+    }
+  },
+
+  /**
+   * {@link Cache#remove(Object, Object)}.
+   */
+  REMOVE("remove") {
+    @Override
+    Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue) {
+      return cache.remove(key, value);
+    }
+
+    @Override
+    Object expectedResult(Integer state, Invocation invocation) {
+      return invocation.getValue().equals(state);
+    }
+
+    @Override
+    Integer apply(Integer state, Invocation invocation) {
+      return invocation.getValue().equals(state) ? null : state;
+    }
+  },
+
+  /**
+   * {@link Cache#invoke(Object, EntryProcessor, Object...)} with a
+   * {@link CyclingEntryProcessor} bounded by the value argument.
+   */
+  INVOKE("invoke") {
+    @Override
+    Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue) {
+      return cache.invoke(key, new CyclingEntryProcessor(), value);
+    }
+
+    @Override
+    Object expectedResult(Integer state, Invocation invocation) {
+      return state;
+    }
+
+    @Override
+    Integer apply(Integer state, Invocation invocation) {
+      return CyclingEntryProcessor.next(state, invocation.getValue());
+    }
+  };
+
+  private final String methodName;
+
+  CacheOperation(String methodName) {
+    this.methodName = methodName;
+  }
+
+  /**
+   * Performs the operation.
+   *
+   * @param cache      the {@link Cache}
+   * @param key        the key
+   * @param value      the first value argument, if the operation has one
+   * @param otherValue the second value argument, if the operation has one
+   * @return the result of the operation
+   */
+  abstract Object perform(Cache<Integer, Integer> cache, Integer key, Integer value, Integer otherValue);
+
+  /**
+   * @param state      the value of the entry in the model before the operation
+   * @param invocation the {@link Invocation} of this operation
+   * @return the result a sequential {@link java.util.Map} would have returned
+   */
+  abstract Object expectedResult(Integer state, Invocation invocation);
+
+  /**
+   * @param state      the value of the entry in the model before the operation
+   * @param invocation the {@link Invocation} of this operation
+   * @return the value of the entry in the model after the operation
+   */
+  abstract Integer apply(Integer state, Invocation invocation);
+
+  /**
+   * @param invocation an {@link Invocation} of this operation
+   * @return the invocation in the form of a method call
+   */
+  String describe(Invocation invocation) {
+    StringBuilder builder = new StringBuilder(methodName).append('(').append(invocation.getKey());
+    if (invocation.getValue() != null) {
+      builder.append(", ").append(invocation.getValue());
+    }
+    if (invocation.getOtherValue() != null) {
+      builder.append(", ").append(invocation.getOtherValue());
+    }
+    return builder.append(')').toString();
+  }
+
+  /**
+   * Moves the value of an entry one step around a cycle of values, creating
+   * it if absent, and returns the previous value.
+   */
+  public static class CyclingEntryProcessor implements EntryProcessor<Integer, Integer, Integer>, Serializable {
+
+    static Integer next(Integer value, Integer values) {
+      return value == null ? 0 : (value + 1) % values;
+    }
+
+    @Override
+    public Integer process(MutableEntry<Integer, Integer> entry, Object... arguments) {
+      Integer previous = entry.getValue();
+      entry.setValue(next(previous, (Integer) arguments[0]));
+      return previous;
+    }
+  }
+}
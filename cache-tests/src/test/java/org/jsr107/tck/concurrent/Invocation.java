@@ -0,0 +1,84 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.concurrent;
+
+/**
+ * A completed {@link CacheOperation} on a single key, as observed by the thread
+ * that performed it.
+ */
+public class Invocation {
+
+  private final int thread;
+  private final CacheOperation operation;
+  private final Integer key;
+  private final Integer value;
+  private final Integer otherValue;
+  private final Object result;
+  private final long start;
+  private final long end;
+
+  /**
+   * Constructs an {@link Invocation}.
+   *
+   * @param thread     the index of the thread that performed the operation
+   * @param operation  the {@link CacheOperation}
+   * @param key        the key
+   * @param value      the first value argument, if any
+   * @param otherValue the second value argument, if any
+   * @param result     the result returned by the cache
+   * @param start      {@link System#nanoTime()} before the operation was invoked
+   * @param end        {@link System#nanoTime()} after the operation returned
+   */
+  public Invocation(int thread, CacheOperation operation, Integer key, Integer value, Integer otherValue,
+                    Object result, long start, long end) {
+    this.thread = thread;
+    this.operation = operation;
+    this.key = key;
+    this.value = value;
+    this.otherValue = otherValue;
+    this.result = result;
+    this.start = start;
+    this.end = end;
+  }
+
+  public CacheOperation getOperation() {
+    return operation;
+  }
+
+  public Integer getKey() {
+    return key;
+  }
+
+  public Integer getValue() {
+    return value;
+  }
+
+  public Integer getOtherValue() {
+    return otherValue;
+  }
+
+  public Object getResult() {
+    return result;
+  }
+
+  public long getStart() {
+    return start;
+  }
+
+  public long getEnd() {
+    return end;
+  }
+
+  /**
+   * @param origin the {@link System#nanoTime()} times are reported relative to
+   * @return a description of this invocation
+   */
+  public String describe(long origin) {
+    return String.format("thread %d: %s = %s [%d..%d ns]",
+        thread, operation.describe(this), result, start - origin, end - origin);
+  }
+}
@@ -0,0 +1,257 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks whether the history of a single entry is linearizable, that is whether the
+ * {@link Invocation}s can be ordered, consistently with their real time order, so
+ * that a sequential model of the entry returns the results the cache returned.
+ * <p>
+ * This is the search of Wing and Gong with the memoization of Lowe: invocations are
+ * linearized in turn, backtracking whenever an invocation returned before it could
+ * be linearized, and configurations of linearized invocations and model state that
+ * have already been explored are skipped. As linearizability is a local property,
+ * a history of many entries is linearizable if the history of each entry is.
+ * </p>
+ * When a history is not linearizable the counterexample reported is the longest
+ * linearizable prefix found, the value of the model after it and the invocations
+ * that could not be linearized: the first invocation that returned without being
+ * linearized and those concurrent with it.
+ */
+public final class LinearizabilityChecker {
+
+  private static final int REPORTED_PREFIX = 5;
+
+  private LinearizabilityChecker() {
+    //utility class
+  }
+
+  /**
+   * Checks the history of a single entry, starting from an absent entry.
+   *
+   * @param history the {@link Invocation}s on the entry
+   * @return null if the history is linearizable, otherwise a description of a counterexample
+   */
+  public static String findCounterexample(List<Invocation> history) {
+    Entry head = link(history);
+
+    Integer state = null;
+    BitSet linearized = new BitSet();
+    Deque<Entry> calls = new ArrayDeque<Entry>();
+    Set<Configuration> explored = new HashSet<Configuration>();
+
+    List<Entry> longestPrefix = new ArrayList<Entry>();
+    Integer stateAfterLongestPrefix = null;
+    Entry blocked = null;
+
+    Entry entry = head.next;
+    while (head.next != null) {
+      if (entry.isCall()) {
+        Invocation invocation = entry.invocation;
+        if (equal(invocation.getOperation().expectedResult(state, invocation), invocation.getResult())) {
+          Integer next = invocation.getOperation().apply(state, invocation);
+          BitSet candidate = (BitSet) linearized.clone();
+          candidate.set(entry.index);
+          if (explored.add(new Configuration(candidate, next))) {
+            entry.stateBefore = state;
+            calls.push(entry);
+            state = next;
+            linearized = candidate;
+            entry.lift();
+            entry = head.next;
+            continue;
+          }
+        }
+        entry = entry.next;
+      } else {
+        if (blocked == null || calls.size() > longestPrefix.size()) {
+          longestPrefix = new ArrayList<Entry>(calls);
+          Collections.reverse(longestPrefix);
+          stateAfterLongestPrefix = state;
+          blocked = entry;
+        }
+        if (calls.isEmpty()) {
+          return describe(history, longestPrefix, stateAfterLongestPrefix, blocked);
+        }
+        Entry call = calls.pop();
+        state = call.stateBefore;
+        linearized = (BitSet) linearized.clone();
+        linearized.clear(call.index);
+        call.unlift();
+        entry = call.next;
+      }
+    }
+    return null;
+  }
+
+  private static Entry link(List<Invocation> history) {
+    List<Entry> entries = new ArrayList<Entry>(history.size() * 2);
+    for (int i = 0; i < history.size(); i++) {
+      Entry call = new Entry(history.get(i), i, history.get(i).getStart());
+      Entry ret = new Entry(history.get(i), i, history.get(i).getEnd());
+      call.match = ret;
+      entries.add(call);
+      entries.add(ret);
+    }
+    //calls at the same time as returns are treated as concurrent with them
+    Collections.sort(entries, new Comparator<Entry>() {
+      @Override
+      public int compare(Entry e1, Entry e2) {
+        if (e1.time != e2.time) {
+          return e1.time < e2.time ? -1 : 1;
+        }
+        return Boolean.compare(!e1.isCall(), !e2.isCall());
+      }
+    });
+
+    Entry head = new Entry(null, -1, Long.MIN_VALUE);
+    Entry last = head;
+    for (Entry entry : entries) {
+      last.next = entry;
+      entry.prev = last;
+      last = entry;
+    }
+    return head;
+  }
+
+  private static String describe(List<Invocation> history, List<Entry> prefix, Integer state, Entry blocked) {
+    long origin = Long.MAX_VALUE;
+    for (Invocation invocation : history) {
+      origin = Math.min(origin, invocation.getStart());
+    }
+
+    BitSet linearized = new BitSet();
+    for (Entry call : prefix) {
+      linearized.set(call.index);
+    }
+
+    StringBuilder builder = new StringBuilder("history of key ")
+        .append(blocked.invocation.getKey()).append(" with ").append(history.size())
+        .append(" operations is not linearizable\n");
+    builder.append("longest linearizable prefix has ").append(prefix.size()).append(" operations");
+    if (prefix.size() > REPORTED_PREFIX) {
+      builder.append(", the last ").append(REPORTED_PREFIX).append(" being");
+    }
+    builder.append(":\n");
+    for (Entry call : prefix.subList(Math.max(0, prefix.size() - REPORTED_PREFIX), prefix.size())) {
+      builder.append("  ").append(call.invocation.describe(origin)).append('\n');
+    }
+    builder.append("leaving value ").append(state).append(", after which no order explains\n");
+    builder.append("  ").append(blocked.invocation.describe(origin)).append('\n');
+    builder.append("and the operations concurrent with it:\n");
+    int concurrent = 0;
+    for (int i = 0; i < history.size(); i++) {
+      Invocation invocation = history.get(i);
+      if (!linearized.get(i) && invocation != blocked.invocation
+          && invocation.getStart() <= blocked.invocation.getEnd()) {
+        builder.append("  ").append(invocation.describe(origin)).append('\n');
+        concurrent++;
+      }
+    }
+    if (concurrent == 0) {
+      builder.append("  (none)\n");
+    }
+    return builder.toString();
+  }
+
+  private static boolean equal(Object o1, Object o2) {
+    return o1 == null ? o2 == null : o1.equals(o2);
+  }
+
+  /**
+   * The call or return of an {@link Invocation}, in a doubly linked list ordered by time.
+   */
+  private static final class Entry {
+
+    private final Invocation invocation;
+    private final int index;
+    private final long time;
+
+    /**
+     * the return of a call, null for a return
+     */
+    private Entry match;
+    /**
+     * the model state before this call, while it is linearized
+     */
+    private Integer stateBefore;
+    private Entry prev;
+    private Entry next;
+
+    Entry(Invocation invocation, int index, long time) {
+      this.invocation = invocation;
+      this.index = index;
+      this.time = time;
+    }
+
+    boolean isCall() {
+      return match != null;
+    }
+
+    /**
+     * Removes this call and its return from the list.
+     */
+    void lift() {
+      prev.next = next;
+      next.prev = prev;
+      match.prev.next = match.next;
+      if (match.next != null) {
+        match.next.prev = match.prev;
+      }
+    }
+
+    /**
+     * Restores this call and its return, undoing {@link #lift()}.
+     */
+    void unlift() {
+      match.prev.next = match;
+      if (match.next != null) {
+        match.next.prev = match;
+      }
+      prev.next = this;
+      next.prev = this;
+    }
+  }
+
+  /**
+   * A set of linearized invocations together with the resulting model state.
+   */
+  private static final class Configuration {
+
+    private final BitSet linearized;
+    private final Integer state;
+
+    Configuration(BitSet linearized, Integer state) {
+      this.linearized = linearized;
+      this.state = state;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Configuration)) {
+        return false;
+      }
+      Configuration other = (Configuration) o;
+      return linearized.equals(other.linearized) && equal(state, other.state);
+    }
+
+    @Override
+    public int hashCode() {
+      return linearized.hashCode() * 31 + (state == null ? 0 : state.hashCode());
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.concurrent;
+
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.jsr107.tck.concurrent.CacheOperation.GET;
+import static org.jsr107.tck.concurrent.CacheOperation.GET_AND_PUT;
+import static org.jsr107.tck.concurrent.CacheOperation.GET_AND_REMOVE;
+import static org.jsr107.tck.concurrent.CacheOperation.INVOKE;
+import static org.jsr107.tck.concurrent.CacheOperation.PUT_IF_ABSENT;
+import static org.jsr107.tck.concurrent.CacheOperation.REMOVE;
+import static org.jsr107.tck.concurrent.CacheOperation.REPLACE;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the {@link LinearizabilityChecker} itself with hand-built histories of a
+ * single key, so that a checker accepting every history cannot pass unnoticed.
+ * <p>
+ * Times are given in arbitrary units; an {@link Invocation} is concurrent with
+ * another when their intervals overlap.
+ * </p>
+ */
+public class LinearizabilityCheckerTest {
+
+  private static final Integer KEY = 1;
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  @Test
+  public void emptyHistoryIsLinearizable() {
+    assertLinearizable(Collections.<Invocation>emptyList());
+  }
+
+  @Test
+  public void sequentialHistoryIsLinearizable() {
+    assertLinearizable(Arrays.asList(
+        invocation(0, GET, null, null, null, 0, 1),
+        invocation(0, PUT_IF_ABSENT, 10, null, true, 2, 3),
+        invocation(1, PUT_IF_ABSENT, 20, null, false, 4, 5),
+        invocation(0, GET, null, null, 10, 6, 7),
+        invocation(1, REPLACE, 10, 11, true, 8, 9),
+        invocation(0, REPLACE, 10, 12, false, 10, 11),
+        invocation(1, GET_AND_PUT, 12, null, 11, 12, 13),
+        invocation(0, REMOVE, 11, null, false, 14, 15),
+        invocation(1, REMOVE, 12, null, true, 16, 17),
+        invocation(0, GET_AND_REMOVE, null, null, null, 18, 19),
+        invocation(1, INVOKE, 3, null, null, 20, 21),
+        invocation(0, INVOKE, 3, null, 0, 22, 23),
+        invocation(1, GET, null, null, 1, 24, 25)));
+  }
+
+  @Test
+  public void sequentialStaleReadIsNotLinearizable() {
+    assertNotLinearizable(Arrays.asList(
+        invocation(0, PUT_IF_ABSENT, 10, null, true, 0, 1),
+        invocation(1, GET_AND_REMOVE, null, null, 10, 2, 3),
+        invocation(0, GET, null, null, 10, 4, 5)));
+  }
+
+  @Test
+  public void overlappingHistoryIsLinearizable() {
+    assertLinearizable(Arrays.asList(
+        invocation(0, PUT_IF_ABSENT, 10, null, true, 0, 10),
+        invocation(1, PUT_IF_ABSENT, 20, null, false, 5, 15),
+        invocation(2, GET, null, null, 10, 12, 20)));
+  }
+
+  @Test
+  public void overlappingHistoryLinearizedOutOfStartOrderIsLinearizable() {
+    //the later call must take effect first
+    assertLinearizable(Arrays.asList(
+        invocation(0, PUT_IF_ABSENT, 10, null, false, 0, 20),
+        invocation(1, PUT_IF_ABSENT, 20, null, true, 5, 10),
+        invocation(2, GET_AND_PUT, 30, null, 20, 6, 25),
+        invocation(1, GET_AND_REMOVE, null, null, 30, 21, 30)));
+  }
+
+  @Test
+  public void overlappingGetAndPutAndGetAndRemoveAreLinearizable() {
+    assertLinearizable(Arrays.asList(
+        invocation(0, GET_AND_PUT, 5, null, null, 0, 10),
+        invocation(1, GET_AND_REMOVE, null, null, 5, 2, 8),
+        invocation(2, GET, null, null, null, 9, 12)));
+  }
+
+  @Test
+  public void overlappingPutIfAbsentBothSucceedingIsNotLinearizable() {
+    assertNotLinearizable(Arrays.asList(
+        invocation(0, PUT_IF_ABSENT, 10, null, true, 0, 10),
+        invocation(1, PUT_IF_ABSENT, 20, null, true, 5, 15)));
+  }
+
+  @Test
+  public void getAndRemoveOfValueNeverPutIsNotLinearizable() {
+    assertNotLinearizable(Arrays.asList(
+        invocation(0, PUT_IF_ABSENT, 10, null, true, 0, 10),
+        invocation(1, GET_AND_PUT, 20, null, 10, 5, 15),
+        invocation(2, GET_AND_REMOVE, null, null, 30, 8, 20)));
+  }
+
+  @Test
+  public void counterexampleNamesTheOperationThatCannotBeLinearized() {
+    String counterexample = assertNotLinearizable(Arrays.asList(
+        invocation(0, PUT_IF_ABSENT, 10, null, true, 0, 1),
+        invocation(1, REPLACE, 20, 21, true, 2, 3)));
+    assertTrue(counterexample, counterexample.contains("replace(1, 20, 21)"));
+  }
+
+  private static Invocation invocation(int thread, CacheOperation operation, Integer value, Integer otherValue,
+                                       Object result, long start, long end) {
+    return new Invocation(thread, operation, KEY, value, otherValue, result, start, end);
+  }
+
+  private static void assertLinearizable(List<Invocation> history) {
+    String counterexample = LinearizabilityChecker.findCounterexample(history);
+    assertNull(counterexample, counterexample);
+  }
+
+  private static String assertNotLinearizable(List<Invocation> history) {
+    String counterexample = LinearizabilityChecker.findCounterexample(history);
+    assertNotNull("history should not be linearizable", counterexample);
+    return counterexample;
+  }
+}
@@ -0,0 +1,197 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.concurrent;
+
+import org.jsr107.tck.testutil.CacheTestSupport;
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import javax.cache.configuration.MutableConfiguration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the atomic {@link javax.cache.Cache} operations are linearizable when
+ * performed concurrently on a small number of keys.
+ * <p>
+ * Each round every thread performs a random mix of the operations under test, with
+ * a few keys and values so that they frequently conflict. The history of each key is
+ * then checked with the {@link LinearizabilityChecker}; {@link CacheOperation#GET}
+ * and {@link CacheOperation#GET_AND_REMOVE} are mixed into every test to observe and
+ * reset the entries.
+ * </p>
+ */
+public class LinearizabilityTest extends CacheTestSupport<Integer, Integer> {
+
+  /**
+   * name of system property to obtain the number of threads, if set
+   */
+  public static final String THREADS_PROPERTY = "org.jsr107.tck.concurrent.threads";
+
+  /**
+   * name of system property to obtain the number of operations per thread per round, if set
+   */
+  public static final String OPERATIONS_PROPERTY = "org.jsr107.tck.concurrent.operations";
+
+  /**
+   * name of system property to obtain the number of rounds, if set
+   */
+  public static final String ROUNDS_PROPERTY = "org.jsr107.tck.concurrent.rounds";
+
+  /**
+   * name of system property to obtain the seed of the random choices, if set
+   */
+  public static final String SEED_PROPERTY = "org.jsr107.tck.concurrent.seed";
+
+  private static final int KEYS = 4;
+
+  private static final int VALUES = 3;
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  @Override
+  protected MutableConfiguration<Integer, Integer> newMutableConfiguration() {
+    return new MutableConfiguration<Integer, Integer>().setTypes(Integer.class, Integer.class);
+  }
+
+  @Test
+  public void putIfAbsentIsLinearizable() throws Exception {
+    checkLinearizable(EnumSet.of(CacheOperation.PUT_IF_ABSENT));
+  }
+
+  @Test
+  public void replaceIsLinearizable() throws Exception {
+    checkLinearizable(EnumSet.of(CacheOperation.REPLACE, CacheOperation.PUT_IF_ABSENT));
+  }
+
+  @Test
+  public void getAndPutIsLinearizable() throws Exception {
+    checkLinearizable(EnumSet.of(CacheOperation.GET_AND_PUT));
+  }
+
+  @Test
+  public void getAndRemoveIsLinearizable() throws Exception {
+    checkLinearizable(EnumSet.of(CacheOperation.GET_AND_REMOVE, CacheOperation.GET_AND_PUT));
+  }
+
+  @Test
+  public void removeIsLinearizable() throws Exception {
+    checkLinearizable(EnumSet.of(CacheOperation.REMOVE, CacheOperation.GET_AND_PUT));
+  }
+
+  @Test
+  public void invokeIsLinearizable() throws Exception {
+    checkLinearizable(EnumSet.of(CacheOperation.INVOKE));
+  }
+
+  @Test
+  public void allOperationsAreLinearizable() throws Exception {
+    checkLinearizable(EnumSet.allOf(CacheOperation.class));
+  }
+
+  private void checkLinearizable(EnumSet<CacheOperation> operations) throws Exception {
+    operations.add(CacheOperation.GET);
+    operations.add(CacheOperation.GET_AND_REMOVE);
+    final CacheOperation[] mix = operations.toArray(new CacheOperation[operations.size()]);
+
+    final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    final int operationsPerThread = Integer.getInteger(OPERATIONS_PROPERTY, 50);
+    int rounds = Integer.getInteger(ROUNDS_PROPERTY, 20);
+    long seed = Long.getLong(SEED_PROPERTY, System.nanoTime());
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < rounds; round++) {
+        cache.removeAll();
+        final CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<List<Invocation>>> futures = new ArrayList<Future<List<Invocation>>>();
+        for (int thread = 0; thread < threads; thread++) {
+          final int threadIndex = thread;
+          final Random random = new Random(seed + round * threads + thread);
+          futures.add(executor.submit(new Callable<List<Invocation>>() {
+            @Override
+            public List<Invocation> call() throws Exception {
+              start.await();
+              return perform(threadIndex, mix, operationsPerThread, random);
+            }
+          }));
+        }
+
+        Map<Integer, List<Invocation>> histories = new HashMap<Integer, List<Invocation>>();
+        for (Future<List<Invocation>> future : futures) {
+          for (Invocation invocation : future.get()) {
+            List<Invocation> history = histories.get(invocation.getKey());
+            if (history == null) {
+              history = new ArrayList<Invocation>();
+              histories.put(invocation.getKey(), history);
+            }
+            history.add(invocation);
+          }
+        }
+
+        for (List<Invocation> history : histories.values()) {
+          String counterexample = LinearizabilityChecker.findCounterexample(history);
+          if (counterexample != null) {
+            fail("round " + round + " with " + SEED_PROPERTY + "=" + seed + ": " + counterexample);
+          }
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  private List<Invocation> perform(int thread, CacheOperation[] mix, int operations, Random random) {
+    List<Invocation> invocations = new ArrayList<Invocation>(operations);
+    for (int i = 0; i < operations; i++) {
+      CacheOperation operation = mix[random.nextInt(mix.length)];
+      Integer key = random.nextInt(KEYS);
+      Integer value = null;
+      Integer otherValue = null;
+      switch (operation) {
+        case PUT_IF_ABSENT:
+        case GET_AND_PUT:
+        case REMOVE:
+          value = random.nextInt(VALUES);
+          break;
+        case REPLACE:
+          value = random.nextInt(VALUES);
+          otherValue = random.nextInt(VALUES);
+          break;
+        case INVOKE:
+          value = VALUES;
+          break;
+        default:
+          break;
+      }
+      long start = System.nanoTime();
+      Object result = operation.perform(cache, key, value, otherValue);
+      long end = System.nanoTime();
+      invocations.add(new Invocation(thread, operation, key, value, otherValue, result, start, end));
+    }
+    return invocations;
+  }
+}
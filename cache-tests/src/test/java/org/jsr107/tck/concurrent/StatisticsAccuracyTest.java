@@ -0,0 +1,144 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.concurrent;
+
+import org.jsr107.tck.testutil.AssertionUtil.AssertionRunnable;
+import org.jsr107.tck.testutil.CacheTestSupport;
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import javax.cache.configuration.MutableConfiguration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.jsr107.tck.testutil.AssertionUtil.assertEventually;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that cache statistics count every operation when many threads update them
+ * at once, which they do not if an implementation increments them non-atomically.
+ * <p>
+ * Every thread performs the same known mix of operations: two hits on a few keys
+ * shared by all threads, a miss, and a put and a remove of a key of its own. The
+ * final counters must match the mix exactly, and the average times must lie between
+ * zero and the duration of the whole run.
+ * </p>
+ */
+public class StatisticsAccuracyTest extends CacheTestSupport<Long, String> {
+
+  /**
+   * name of system property to obtain the number of threads, if set
+   */
+  public static final String THREADS_PROPERTY = "org.jsr107.tck.concurrent.statistics.threads";
+
+  /**
+   * name of system property to obtain the number of iterations of the operation mix per thread, if set
+   */
+  public static final String ITERATIONS_PROPERTY = "org.jsr107.tck.concurrent.statistics.iterations";
+
+  /**
+   * The number of present keys shared by all threads.
+   */
+  private static final int SHARED_KEYS = 16;
+
+  /**
+   * The first key of the keys that are never put.
+   */
+  private static final long ABSENT_KEYS = 1000000000L;
+
+  /**
+   * The first key of the keys put and removed by each thread.
+   */
+  private static final long OWN_KEYS = 2000000000L;
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  @Override
+  protected MutableConfiguration<Long, String> newMutableConfiguration() {
+    return new MutableConfiguration<Long, String>().setTypes(Long.class, String.class).setStatisticsEnabled(true);
+  }
+
+  @Test
+  public void countersAreExactUnderContention() throws Exception {
+    final int threads = Integer.getInteger(THREADS_PROPERTY, 8);
+    final int iterations = Integer.getInteger(ITERATIONS_PROPERTY, 5000);
+
+    for (long key = 0; key < SHARED_KEYS; key++) {
+      cache.put(key, "shared " + key);
+    }
+
+    final CyclicBarrier start = new CyclicBarrier(threads);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long startNanos = System.nanoTime();
+    try {
+      List<Future<Void>> futures = new ArrayList<Future<Void>>();
+      for (int thread = 0; thread < threads; thread++) {
+        final long ownKeys = OWN_KEYS + (long) thread * iterations;
+        final long absentKeys = ABSENT_KEYS + (long) thread * iterations;
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            start.await();
+            for (int i = 0; i < iterations; i++) {
+              assertEquals("shared " + (i % SHARED_KEYS), cache.get((long) (i % SHARED_KEYS)));
+              assertEquals("shared " + ((i + 1) % SHARED_KEYS), cache.get((long) ((i + 1) % SHARED_KEYS)));
+              assertEquals(null, cache.get(absentKeys + i));
+              cache.put(ownKeys + i, "own");
+              assertTrue(cache.remove(ownKeys + i));
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    final float runMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+
+    final long operations = (long) threads * iterations;
+    assertEventually(new AssertionRunnable() {
+      @Override
+      public void run() throws Exception {
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2 * operations, statistics.get("CacheHits"));
+        assertEquals(operations, statistics.get("CacheMisses"));
+        assertEquals(operations + SHARED_KEYS, statistics.get("CachePuts"));
+        assertEquals(operations, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertEquals(3 * operations, statistics.get("CacheGets"));
+      }
+    }, Integer.getInteger(STATISTICS_UPDATE_TIMEOUT_PROPERTY, 5));
+
+    Map<String, Object> statistics = lookupStatistics(cache);
+    for (String average : new String[] {"AverageGetTime", "AveragePutTime", "AverageRemoveTime"}) {
+      float micros = (Float) statistics.get(average);
+      LOG.info(String.format("%s with %d threads: %.3f microseconds", average, threads, micros));
+      assertTrue(average + " of " + micros + " is not a duration",
+          !Float.isNaN(micros) && !Float.isInfinite(micros) && micros >= 0);
+      assertTrue(average + " of " + micros + " microseconds exceeds the run of " + runMicros,
+          micros <= runMicros);
+    }
+  }
+}
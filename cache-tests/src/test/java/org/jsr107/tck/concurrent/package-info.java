@@ -0,0 +1,24 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+
+/**
+ This package contains concurrency conformance tests for JSR107 implementations.
+
+ The tests record histories of atomic Cache operations performed by many threads
+ and check that each history is linearizable against a sequential Map, and
+ check that statistics count every operation performed concurrently. As they
+ are randomized and take longer than the other tests, they are excluded by
+ default and may be run from the implementation-tester with:
+
+ mvn -P test-concurrency clean install
+
+ The load can be tuned with the system properties
+ org.jsr107.tck.concurrent.threads, org.jsr107.tck.concurrent.operations and
+ org.jsr107.tck.concurrent.rounds. A failing run reports the seed it used,
+ which can be replayed with org.jsr107.tck.concurrent.seed.
+ */
+package org.jsr107.tck.concurrent;
@@ -8,6 +8,7 @@ package org.jsr107.tck.integration;
 
 import org.jsr107.tck.processor.GetEntryProcessor;
 import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.jsr107.tck.testutil.TestSupport;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -15,7 +16,6 @@ import org.junit.Test;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
-import javax.cache.Caching;
 import javax.cache.configuration.FactoryBuilder;
 import javax.cache.configuration.MutableConfiguration;
 import javax.cache.integration.CacheLoader;
@@ -41,7 +41,7 @@ import static org.junit.Assert.fail;
  *
  * @author Brian Oliver
  */
-public class CacheLoaderTest {
+public class CacheLoaderTest extends TestSupport {
 
   /**
    * Rule used to exclude tests
@@ -76,7 +76,7 @@ public class CacheLoaderTest {
     cacheLoaderServer.open();
 
     //establish the CacheManager for the tests
-    cacheManager = Caching.getCachingProvider().getCacheManager();
+    cacheManager = getCacheManager();
 
     //establish a CacheLoaderClient that a Cache can use for loading entries
     //(via the CacheLoaderServer)
@@ -7,6 +7,7 @@
 package org.jsr107.tck.integration;
 
 import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.jsr107.tck.testutil.TestSupport;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -14,7 +15,6 @@ import org.junit.Test;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
-import javax.cache.Caching;
 import javax.cache.configuration.FactoryBuilder;
 import javax.cache.configuration.MutableConfiguration;
 import javax.cache.expiry.Duration;
@@ -31,7 +31,7 @@ import static org.junit.Assert.assertThat;
  *
  * @author Brian Oliver
  */
-public class CacheLoaderWithExpiryTest {
+public class CacheLoaderWithExpiryTest extends TestSupport {
 
   /**
    * Rule used to exclude tests
@@ -66,7 +66,7 @@ public class CacheLoaderWithExpiryTest {
     cacheLoaderServer.open();
 
     //establish the CacheManager for the tests
-    cacheManager = Caching.getCachingProvider().getCacheManager();
+    cacheManager = getCacheManager();
 
     //establish a CacheLoaderClient that a Cache can use for loading entries
     //(via the CacheLoaderServer)
@@ -8,6 +8,7 @@ package org.jsr107.tck.integration;
 
 import org.jsr107.tck.processor.GetEntryProcessor;
 import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.jsr107.tck.testutil.TestSupport;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -15,7 +16,6 @@ import org.junit.Test;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
-import javax.cache.Caching;
 import javax.cache.configuration.FactoryBuilder;
 import javax.cache.configuration.MutableConfiguration;
 import javax.cache.integration.CacheLoaderException;
@@ -39,7 +39,7 @@ import static org.junit.Assert.fail;
  *
  * @author Brian Oliver
  */
-public class CacheLoaderWithoutReadThroughTest {
+public class CacheLoaderWithoutReadThroughTest extends TestSupport {
 
   /**
    * Rule used to exclude tests
@@ -74,7 +74,7 @@ public class CacheLoaderWithoutReadThroughTest {
     cacheLoaderServer.open();
 
     //establish the CacheManager for the tests
-    cacheManager = Caching.getCachingProvider().getCacheManager();
+    cacheManager = getCacheManager();
 
     //establish a CacheLoaderClient that a Cache can use for loading entries
     //(via the CacheLoaderServer)
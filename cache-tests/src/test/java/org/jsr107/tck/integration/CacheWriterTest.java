@@ -21,7 +21,6 @@ import org.junit.Test;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
-import javax.cache.Caching;
 import javax.cache.configuration.FactoryBuilder;
 import javax.cache.configuration.MutableConfiguration;
 import javax.cache.integration.CacheWriterException;
@@ -83,7 +82,7 @@ public class CacheWriterTest extends TestSupport {
     cacheWriterServer.open();
 
     // establish the CacheManager for the tests
-    cacheManager = Caching.getCachingProvider().getCacheManager();
+    cacheManager = getCacheManager();
 
     // establish a CacheWriterClient that a Cache can use for writing/deleting entries
     // (via the CacheWriterServer)
@@ -1144,7 +1143,7 @@ public class CacheWriterTest extends TestSupport {
     cacheWriterServer.open();
 
     // establish the CacheManager for the tests
-    cacheManager = Caching.getCachingProvider().getCacheManager();
+    cacheManager = getCacheManager();
 
     // establish a CacheWriterClient that a Cache can use for writing/deleting entries
     // (via the CacheWriterServer)
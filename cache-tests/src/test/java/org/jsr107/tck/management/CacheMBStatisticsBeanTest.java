@@ -50,11 +50,6 @@ import static org.junit.Assert.assertThat;
  */
 public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
 
-  /**
-   * name of system property to obtain statistics update timeout in seconds, if set
-   */
-  public static final String STATISTICS_UPDATE_TIMEOUT_PROPERTY = "org.jsr107.tck.management.statistics.timeout.seconds";
-
   /**
    * Default timeout while waiting for statistics to be updated is 0 seconds.
    * There are tests which verify that statistics are not affected by some actions; in this
@@ -110,16 +105,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(0L, statistics.get("CacheHits"));
+        assertEquals(0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(0L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertEquals(0f, statistics.get("AverageGetTime"));
+        assertEquals(0f, statistics.get("AveragePutTime"));
+        assertEquals(0f, statistics.get("AverageRemoveTime"));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -133,16 +129,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(0L, statistics.get("CacheHits"));
+        assertEquals(0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(1L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -153,16 +150,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(0L, statistics.get("CacheHits"));
+        assertEquals(0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(3L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -172,16 +170,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(4L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(0L, statistics.get("CacheHits"));
+        assertEquals(0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(4L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -189,16 +188,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(6L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(0L, statistics.get("CacheHits"));
+        assertEquals(0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(6L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -206,16 +206,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(100.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(7L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(0L, statistics.get("CacheHits"));
+        assertEquals(0f, statistics.get("CacheHitPercentage"));
+        assertEquals(1L, statistics.get("CacheMisses"));
+        assertEquals(100.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(7L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -223,16 +224,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(8L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(1L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(1L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(8L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -240,16 +242,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(66.0f, (float)lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"), DELTA);
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(33.0f, (float)lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"), DELTA);
-        assertEquals(8L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2L, statistics.get("CacheHits"));
+        assertEquals(66.0f, (float)statistics.get("CacheHitPercentage"), DELTA);
+        assertEquals(1L, statistics.get("CacheMisses"));
+        assertEquals(33.0f, (float)statistics.get("CacheMissPercentage"), DELTA);
+        assertEquals(8L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -259,16 +262,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(8L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(2L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(8L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -278,16 +282,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertAllTheTime(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(8L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(2L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(8L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -295,16 +300,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(8L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(2L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(8L, statistics.get("CachePuts"));
+        assertEquals(1L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -313,16 +319,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertAllTheTime(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(8L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(2L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(8L, statistics.get("CachePuts"));
+        assertEquals(1L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -332,16 +339,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(60.0f, (float)lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"), DELTA);
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(40.0f, (float)lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"), DELTA);
-        assertEquals(9L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(3L, statistics.get("CacheHits"));
+        assertEquals(60.0f, (float)statistics.get("CacheHitPercentage"), DELTA);
+        assertEquals(2L, statistics.get("CacheMisses"));
+        assertEquals(40.0f, (float)statistics.get("CacheMissPercentage"), DELTA);
+        assertEquals(9L, statistics.get("CachePuts"));
+        assertEquals(2L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -350,16 +358,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertAllTheTime(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(9L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(3L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(3L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(9L, statistics.get("CachePuts"));
+        assertEquals(2L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -368,16 +377,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertAllTheTime(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(9L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(3L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(3L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(9L, statistics.get("CachePuts"));
+        assertEquals(2L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -386,16 +396,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertAllTheTime(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(9L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(3L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(3L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(9L, statistics.get("CachePuts"));
+        assertEquals(2L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -405,16 +416,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(12L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(5L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(3L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(3L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(12L, statistics.get("CachePuts"));
+        assertEquals(5L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -425,16 +437,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(15L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(7L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(3L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(3L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(15L, statistics.get("CachePuts"));
+        assertEquals(7L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -443,16 +456,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertAllTheTime(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(3L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(50.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(15L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(7L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(3L, statistics.get("CacheHits"));
+        assertEquals(50.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(3L, statistics.get("CacheMisses"));
+        assertEquals(50.0f, statistics.get("CacheMissPercentage"));
+        assertEquals(15L, statistics.get("CachePuts"));
+        assertEquals(7L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -477,16 +491,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"), greaterThanOrEqualTo(66.65f));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"), lessThanOrEqualTo(33.34f));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2L, statistics.get("CacheHits"));
+        assertThat((Float) statistics.get("CacheHitPercentage"), greaterThanOrEqualTo(66.65f));
+        assertEquals(1L, statistics.get("CacheMisses"));
+        assertThat((Float) statistics.get("CacheMissPercentage"), lessThanOrEqualTo(33.34f));
+        assertEquals(1L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -511,16 +526,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"), greaterThanOrEqualTo(66.65f));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"), lessThanOrEqualTo(33.34f));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(2L, statistics.get("CacheHits"));
+        assertThat((Float) statistics.get("CacheHitPercentage"), greaterThanOrEqualTo(66.65f));
+        assertEquals(1L, statistics.get("CacheMisses"));
+        assertThat((Float) statistics.get("CacheMissPercentage"), lessThanOrEqualTo(33.34f));
+        assertEquals(1L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -535,16 +551,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(100.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(2L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(1L, statistics.get("CacheHits"));
+        assertEquals(100.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(2L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -558,16 +575,17 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(100.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(1L, statistics.get("CacheHits"));
+        assertEquals(100.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(1L, statistics.get("CachePuts"));
+        assertEquals(1L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -591,17 +609,18 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(100L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(100.0f, lookupManagementAttribute(cache, CacheStatistics, "CacheHitPercentage"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "CacheMissPercentage"));
-        assertEquals(100L, lookupManagementAttribute(cache, CacheStatistics, "CacheGets"));
-        assertEquals(100L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(100L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheEvictions"));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"), greaterThanOrEqualTo(0f));
-        assertThat((Float) lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"), greaterThanOrEqualTo(0f));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(100L, statistics.get("CacheHits"));
+        assertEquals(100.0f, statistics.get("CacheHitPercentage"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("CacheMissPercentage"));
+        assertEquals(100L, statistics.get("CacheGets"));
+        assertEquals(100L, statistics.get("CachePuts"));
+        assertEquals(100L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheEvictions"));
+        assertThat((Float) statistics.get("AverageGetTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AveragePutTime"), greaterThanOrEqualTo(0f));
+        assertThat((Float) statistics.get("AverageRemoveTime"), greaterThanOrEqualTo(0f));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -618,33 +637,37 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
 
     assertFalse(cache.containsKey(1L));
     assertEquals(null, result);
-    assertEquals(missCount, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-    assertEquals(hitCount, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-    assertEquals(putCount, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+    Map<String, Object> statistics = lookupStatistics(cache);
+    assertEquals(missCount, statistics.get("CacheMisses"));
+    assertEquals(hitCount, statistics.get("CacheHits"));
+    assertEquals(putCount, statistics.get("CachePuts"));
     assertFalse(cache.containsKey(1L));
 
     cache.put(1l, "Sooty");
     putCount++;
     assertTrue(cache.containsKey(1L));
-    assertEquals(missCount, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-    assertEquals(hitCount, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-    assertEquals(putCount, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+    statistics = lookupStatistics(cache);
+    assertEquals(missCount, statistics.get("CacheMisses"));
+    assertEquals(hitCount, statistics.get("CacheHits"));
+    assertEquals(putCount, statistics.get("CachePuts"));
 
     result = cache.getAndReplace(2L, "InvalidReplace");
     missCount++;
     assertEquals(null, result);
-    assertEquals(missCount, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-    assertEquals(hitCount, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-    assertEquals(putCount, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+    statistics = lookupStatistics(cache);
+    assertEquals(missCount, statistics.get("CacheMisses"));
+    assertEquals(hitCount, statistics.get("CacheHits"));
+    assertEquals(putCount, statistics.get("CachePuts"));
     assertFalse(cache.containsKey(2L));
 
     result = cache.getAndReplace(1L, "Replaced");
     hitCount++;
     putCount++;
     assertEquals("Sooty", result);
-    assertEquals(missCount, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-    assertEquals(hitCount, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-    assertEquals(putCount, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+    statistics = lookupStatistics(cache);
+    assertEquals(missCount, statistics.get("CacheMisses"));
+    assertEquals(hitCount, statistics.get("CacheHits"));
+    assertEquals(putCount, statistics.get("CachePuts"));
   }
 
 
@@ -662,9 +685,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(missCount.get(), statistics.get("CacheMisses"));
+        assertEquals(hitCount.get(), statistics.get("CacheHits"));
+        assertEquals(putCount.get(), statistics.get("CachePuts"));
         assertFalse(cache.containsKey(1L));
       }
     }, statisticsUpdateTimeoutMillis);
@@ -674,7 +698,8 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(1L, statistics.get("CachePuts"));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -685,9 +710,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(missCount.get(), statistics.get("CacheMisses"));
+        assertEquals(hitCount.get(), statistics.get("CacheHits"));
+        assertEquals(putCount.get(), statistics.get("CachePuts"));
         assertFalse(cache.containsKey(2L));
       }
     }, statisticsUpdateTimeoutMillis);
@@ -699,9 +725,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(missCount.get(), statistics.get("CacheMisses"));
+        assertEquals(hitCount.get(), statistics.get("CacheHits"));
+        assertEquals(putCount.get(), statistics.get("CachePuts"));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -719,9 +746,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(missCount.get(), statistics.get("CacheMisses"));
+        assertEquals(hitCount.get(), statistics.get("CacheHits"));
+        assertEquals(putCount.get(), statistics.get("CachePuts"));
         assertFalse(cache.containsKey(1L));
       }
     }, statisticsUpdateTimeoutMillis);
@@ -731,7 +759,8 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(1L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(1L, statistics.get("CachePuts"));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -743,9 +772,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(missCount.get(), statistics.get("CacheMisses"));
+        assertEquals(hitCount.get(), statistics.get("CacheHits"));
+        assertEquals(putCount.get(), statistics.get("CachePuts"));
       }
     }, statisticsUpdateTimeoutMillis);
 
@@ -755,9 +785,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+        assertEquals(missCount.get(), statistics.get("CacheMisses"));
+        assertEquals(hitCount.get(), statistics.get("CacheHits"));
+        assertEquals(putCount.get(), statistics.get("CachePuts"));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -777,9 +808,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
        @Override
        public void run() throws Exception {
-         assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-         assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-         assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+         assertEquals(missCount.get(), statistics.get("CacheMisses"));
+         assertEquals(hitCount.get(), statistics.get("CacheHits"));
+         assertEquals(putCount.get(), statistics.get("CachePuts"));
          assertTrue(cache.containsKey(1L));
        }
      }, statisticsUpdateTimeoutMillis);
@@ -790,9 +822,9 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(putCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
+        assertEquals(putCount.get(), statistics.get("CachePuts"));
+        assertEquals(missCount.get(), statistics.get("CacheMisses"));
+        assertEquals(hitCount.get(), statistics.get("CacheHits"));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -810,9 +842,10 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
        @Override
        public void run() throws Exception {
-         assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-         assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-         assertEquals(removeCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
+        Map<String, Object> statistics = lookupStatistics(cache);
+         assertEquals(missCount.get(), statistics.get("CacheMisses"));
+         assertEquals(hitCount.get(), statistics.get("CacheHits"));
+         assertEquals(removeCount.get(), statistics.get("CacheRemovals"));
          assertFalse(cache.containsKey(1L));
        }
      }, statisticsUpdateTimeoutMillis);
@@ -825,9 +858,9 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
        @Override
        public void run() throws Exception {
-         assertEquals(removeCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-         assertEquals(missCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-         assertEquals(hitCount.get(), lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
+         assertEquals(removeCount.get(), statistics.get("CacheRemovals"));
+         assertEquals(missCount.get(), statistics.get("CacheMisses"));
+         assertEquals(hitCount.get(), statistics.get("CacheHits"));
        }
      }, statisticsUpdateTimeoutMillis);
     assertFalse(cache.containsKey(1L));
@@ -851,7 +884,7 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
       assertEventually(new AssertionRunnable() {
          @Override
          public void run() throws Exception {
-           assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+           assertEquals(0L, statistics.get("CachePuts"));
          }
       }, statisticsUpdateTimeoutMillis);
 
@@ -862,7 +895,7 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
       assertEventually(new AssertionRunnable() {
         @Override
         public void run() throws Exception {
-          assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
+          assertEquals(0L, statistics.get("CachePuts"));
         }
       }, statisticsUpdateTimeoutMillis);
   }
@@ -883,14 +916,14 @@ public class CacheMBStatisticsBeanTest extends CacheTestSupport<Long, String> {
     assertEventually(new AssertionRunnable() {
       @Override
       public void run() throws Exception {
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CachePuts"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheHits"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheGets"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheRemovals"));
-        assertEquals(0L, lookupManagementAttribute(cache, CacheStatistics, "CacheMisses"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "AverageGetTime"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "AveragePutTime"));
-        assertEquals(0f, lookupManagementAttribute(cache, CacheStatistics, "AverageRemoveTime"));
+        assertEquals(0L, statistics.get("CachePuts"));
+        assertEquals(0L, statistics.get("CacheHits"));
+        assertEquals(0L, statistics.get("CacheGets"));
+        assertEquals(0L, statistics.get("CacheRemovals"));
+        assertEquals(0L, statistics.get("CacheMisses"));
+        assertEquals(0f, statistics.get("AverageGetTime"));
+        assertEquals(0f, statistics.get("AveragePutTime"));
+        assertEquals(0f, statistics.get("AverageRemoveTime"));
       }
     }, statisticsUpdateTimeoutMillis);
   }
@@ -0,0 +1,301 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import org.jsr107.tck.integration.CacheLoaderClient;
+import org.jsr107.tck.integration.CacheLoaderServer;
+import org.jsr107.tck.integration.CacheWriterClient;
+import org.jsr107.tck.integration.CacheWriterServer;
+import org.jsr107.tck.integration.RecordingCacheLoader;
+import org.jsr107.tck.integration.RecordingCacheWriter;
+import org.jsr107.tck.processor.SetEntryProcessor;
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.integration.CompletionListenerFuture;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures how the per-element cost of the bulk operations changes with the batch size.
+ * <p>
+ * For each batch size {@link Cache#getAll}, {@link Cache#putAll}, {@link Cache#removeAll(Set)},
+ * {@link Cache#removeAll()} and {@link Cache#invokeAll} are measured without integration
+ * and with a write-through {@link RecordingCacheWriter}, and {@link Cache#loadAll} and
+ * read-through {@link Cache#getAll} with a {@link RecordingCacheLoader}. Every measurement
+ * covers about the same number of elements, so that the reported nanoseconds and bytes
+ * per element can be compared across batch sizes: a flat curve is linear scaling, a
+ * falling one shows the benefit of batching and a rising one a collapse.
+ * </p>
+ * The removals need a populated cache, so they are measured together with the
+ * {@link Cache#putAll} that populates it and reported less the cost of a putAll into
+ * an empty cache, which is measured by clearing the cache before each putAll.
+ */
+public class BulkOperationScaleTest extends PerformanceTestSupport<Long, String> {
+
+  /**
+   * name of system property to obtain the comma separated batch sizes, if set
+   */
+  public static final String BATCH_SIZES_PROPERTY = "org.jsr107.tck.performance.bulk.batch.sizes";
+
+  /**
+   * name of system property to obtain the number of elements each measurement covers, if set
+   */
+  public static final String ELEMENTS_PROPERTY = "org.jsr107.tck.performance.bulk.elements";
+
+  private static final String DEFAULT_BATCH_SIZES = "1,10,100,1000,10000,100000";
+
+  private static final int DEFAULT_ELEMENTS = 100000;
+
+  /**
+   * The servers listen on an ephemeral port, which is what {@link org.jsr107.tck.support.Server}
+   * falls back to when a requested port is in use.
+   */
+  private static final int EPHEMERAL_PORT = 0;
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  /**
+   * The per-element measurements of each operation, in order of batch size.
+   */
+  private final Map<String, List<Measurement>> curves = new LinkedHashMap<String, List<Measurement>>();
+
+  @Override
+  protected MutableConfiguration<Long, String> newMutableConfiguration() {
+    return new MutableConfiguration<Long, String>().setTypes(Long.class, String.class);
+  }
+
+  @Test
+  public void bulkOperationsWithoutIntegration() throws Exception {
+    sweep("", cache);
+    reportCurves();
+  }
+
+  @Test
+  public void bulkOperationsWithCacheWriter() throws Exception {
+    RecordingCacheWriter<Long, String> cacheWriter = new RecordingCacheWriter<Long, String>();
+    CacheWriterServer<Long, String> cacheWriterServer = new CacheWriterServer<Long, String>(EPHEMERAL_PORT, cacheWriter);
+    cacheWriterServer.open();
+    String cacheName = getTestCacheName() + ".writer";
+    try {
+      MutableConfiguration<Long, String> configuration = newMutableConfiguration();
+      configuration.setCacheWriterFactory(FactoryBuilder.factoryOf(
+          new CacheWriterClient<Long, String>(cacheWriterServer.getInetAddress(), cacheWriterServer.getPort())));
+      configuration.setWriteThrough(true);
+      sweep(" with writer", getCacheManager().createCache(cacheName, configuration));
+      assertTrue(cacheWriter.getWriteCount() > 0);
+      assertTrue(cacheWriter.getDeleteCount() > 0);
+      reportCurves();
+    } finally {
+      getCacheManager().destroyCache(cacheName);
+      cacheWriterServer.close();
+    }
+  }
+
+  /**
+   * As a {@link RecordingCacheLoader} loads each key as its own value, this uses
+   * the keys of the generated data for both.
+   */
+  @Test
+  public void bulkOperationsWithCacheLoader() throws Exception {
+    RecordingCacheLoader<Long> cacheLoader = new RecordingCacheLoader<Long>();
+    CacheLoaderServer<Long, Long> cacheLoaderServer = new CacheLoaderServer<Long, Long>(EPHEMERAL_PORT, cacheLoader);
+    cacheLoaderServer.open();
+    String cacheName = getTestCacheName() + ".loader";
+    try {
+      MutableConfiguration<Long, Long> configuration = new MutableConfiguration<Long, Long>()
+          .setTypes(Long.class, Long.class);
+      configuration.setCacheLoaderFactory(FactoryBuilder.factoryOf(
+          new CacheLoaderClient<Long, Long>(cacheLoaderServer.getInetAddress(), cacheLoaderServer.getPort())));
+      configuration.setReadThrough(true);
+      final Cache<Long, Long> loaderCache = getCacheManager().createCache(cacheName, configuration);
+
+      for (int batchSize : getBatchSizes()) {
+        final Set<Long> keys = createLSData(batchSize).keySet();
+        final int repeats = getRepeats(batchSize);
+
+        record("loadAll", batchSize, measure("loadAll batch=" + batchSize, repeats * batchSize, new Workload() {
+          @Override
+          public void run(int operations) throws Exception {
+            for (int i = 0; i < repeats; i++) {
+              CompletionListenerFuture future = new CompletionListenerFuture();
+              loaderCache.loadAll(keys, true, future);
+              future.get();
+            }
+          }
+        }));
+
+        Measurement removeAll = measure("removeAll(keys) of absent keys batch=" + batchSize, repeats * batchSize,
+            new Workload() {
+              @Override
+              public void run(int operations) {
+                for (int i = 0; i < repeats; i++) {
+                  loaderCache.removeAll(keys);
+                }
+              }
+            });
+        Measurement readThrough = measure("removeAll(keys) + getAll read-through batch=" + batchSize,
+            repeats * batchSize, new Workload() {
+              @Override
+              public void run(int operations) {
+                for (int i = 0; i < repeats; i++) {
+                  loaderCache.removeAll(keys);
+                  assertEquals(keys.size(), loaderCache.getAll(keys).size());
+                }
+              }
+            });
+        record("getAll read-through", batchSize, difference(readThrough, removeAll));
+      }
+      assertTrue(cacheLoader.getLoadCount() > 0);
+      reportCurves();
+    } finally {
+      getCacheManager().destroyCache(cacheName);
+      cacheLoaderServer.close();
+    }
+  }
+
+  private void sweep(String suffix, final Cache<Long, String> bulkCache) throws Exception {
+    final SetEntryProcessor<Long, String> processor = new SetEntryProcessor<Long, String>("processed");
+
+    for (int batchSize : getBatchSizes()) {
+      final LinkedHashMap<Long, String> data = createLSData(batchSize);
+      final Set<Long> keys = data.keySet();
+      final int repeats = getRepeats(batchSize);
+      int elements = repeats * batchSize;
+
+      Measurement putAll = measure("putAll" + suffix + " batch=" + batchSize, elements, new Workload() {
+        @Override
+        public void run(int operations) {
+          for (int i = 0; i < repeats; i++) {
+            bulkCache.putAll(data);
+          }
+        }
+      });
+      record("putAll" + suffix, batchSize, putAll);
+
+      record("getAll" + suffix, batchSize, measure("getAll" + suffix + " batch=" + batchSize, elements,
+          new Workload() {
+            @Override
+            public void run(int operations) {
+              for (int i = 0; i < repeats; i++) {
+                assertEquals(keys.size(), bulkCache.getAll(keys).size());
+              }
+            }
+          }));
+
+      record("invokeAll" + suffix, batchSize, measure("invokeAll" + suffix + " batch=" + batchSize, elements,
+          new Workload() {
+            @Override
+            public void run(int operations) {
+              for (int i = 0; i < repeats; i++) {
+                bulkCache.invokeAll(keys, processor);
+              }
+            }
+          }));
+
+      //every removal below empties the cache, so the putAll before it only creates entries
+      Measurement createAll = measure("clear + putAll" + suffix + " batch=" + batchSize, elements, new Workload() {
+        @Override
+        public void run(int operations) {
+          for (int i = 0; i < repeats; i++) {
+            bulkCache.clear();
+            bulkCache.putAll(data);
+          }
+        }
+      });
+
+      record("removeAll(keys)" + suffix, batchSize, difference(measure(
+          "putAll + removeAll(keys)" + suffix + " batch=" + batchSize, elements, new Workload() {
+            @Override
+            public void run(int operations) {
+              for (int i = 0; i < repeats; i++) {
+                bulkCache.putAll(data);
+                bulkCache.removeAll(keys);
+              }
+            }
+          }), createAll));
+
+      record("removeAll()" + suffix, batchSize, difference(measure(
+          "putAll + removeAll()" + suffix + " batch=" + batchSize, elements, new Workload() {
+            @Override
+            public void run(int operations) {
+              for (int i = 0; i < repeats; i++) {
+                bulkCache.putAll(data);
+                bulkCache.removeAll();
+              }
+            }
+          }), createAll));
+    }
+  }
+
+  /**
+   * @return the number of times a batch must be processed to cover about the configured number of elements
+   */
+  private int getRepeats(int batchSize) {
+    return Math.max(1, getIntProperty(ELEMENTS_PROPERTY, DEFAULT_ELEMENTS) / batchSize);
+  }
+
+  private static List<Integer> getBatchSizes() {
+    List<Integer> batchSizes = new ArrayList<Integer>();
+    for (String batchSize : System.getProperty(BATCH_SIZES_PROPERTY, DEFAULT_BATCH_SIZES).split(",")) {
+      batchSizes.add(Integer.valueOf(batchSize.trim()));
+    }
+    return batchSizes;
+  }
+
+  /**
+   * @return a {@link Measurement} of what the first measured workload did in addition to the second
+   */
+  private static Measurement difference(Measurement combined, Measurement part) {
+    long allocated = combined.getBytesPerOperation() < 0 ? -1
+        : Math.round((combined.getBytesPerOperation() - part.getBytesPerOperation()) * combined.getOperations());
+    long elapsed = Math.round((combined.getNanosPerOperation() - part.getNanosPerOperation()) * combined.getOperations());
+    return new Measurement(combined.getName() + " less " + part.getName(), combined.getOperations(),
+        Math.max(0, elapsed), allocated);
+  }
+
+  private void record(String operation, int batchSize, Measurement measurement) {
+    List<Measurement> curve = curves.get(operation);
+    if (curve == null) {
+      curve = new ArrayList<Measurement>();
+      curves.put(operation, curve);
+    }
+    curve.add(measurement);
+    LOG.info(String.format("%s batch=%d: %.1f ns/element, %.1f bytes/element",
+        operation, batchSize, measurement.getNanosPerOperation(), measurement.getBytesPerOperation()));
+  }
+
+  /**
+   * Logs one line per operation with its nanoseconds per element at each batch size,
+   * suitable for plotting.
+   */
+  private void reportCurves() {
+    List<Integer> batchSizes = getBatchSizes();
+    for (Map.Entry<String, List<Measurement>> curve : curves.entrySet()) {
+      StringBuilder line = new StringBuilder("ns/element by batch size for ").append(curve.getKey()).append(':');
+      for (int i = 0; i < curve.getValue().size(); i++) {
+        line.append(String.format(" %d=%.1f", batchSizes.get(i), curve.getValue().get(i).getNanosPerOperation()));
+      }
+      LOG.info(line.toString());
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import org.jsr107.tck.expiry.ExpiryPolicyClient;
+import org.jsr107.tck.expiry.ExpiryPolicyServer;
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.AccessedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures what the requests of an {@link ExpiryPolicyClient} to its
+ * {@link ExpiryPolicyServer} add to expiry-heavy workloads, and checks that a client
+ * caching constant durations makes none.
+ * <p>
+ * An {@link AccessedExpiryPolicy} is consulted on every {@link Cache#get(Object)},
+ * so the same reads are measured against a cache using a round-trip client and a
+ * cache using a caching client. The requests are counted by the server, so the
+ * results do not depend on whether the implementation uses the client instance the
+ * test configured or copies of it.
+ * </p>
+ */
+public class ExpiryPolicyClientCachingTest extends PerformanceTestSupport<Integer, Integer> {
+
+  private static final Duration ONE_HOUR = new Duration(TimeUnit.HOURS, 1);
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  private ExpiryPolicyServer expiryPolicyServer;
+
+  @Override
+  protected MutableConfiguration<Integer, Integer> newMutableConfiguration() {
+    return new MutableConfiguration<Integer, Integer>().setTypes(Integer.class, Integer.class);
+  }
+
+  @Before
+  public void openExpiryPolicyServer() throws Exception {
+    expiryPolicyServer = new ExpiryPolicyServer(10005);
+    expiryPolicyServer.open();
+  }
+
+  @After
+  public void closeExpiryPolicyServer() {
+    //destroying the caches closes the clients, which the server expects before it is closed
+    getCacheManager().destroyCache(expiryCacheName(false));
+    getCacheManager().destroyCache(expiryCacheName(true));
+    expiryPolicyServer.close();
+    expiryPolicyServer = null;
+  }
+
+  @Test
+  public void get_RoundTripVersusCachingClient() throws Exception {
+    int size = getOperations();
+    expiryPolicyServer.setExpiryPolicy(new AccessedExpiryPolicy(ONE_HOUR), true);
+
+    Cache<Integer, Integer> roundTrip = populate(createExpiryCache(false), size);
+    Cache<Integer, Integer> caching = populate(createExpiryCache(true), size);
+
+    expiryPolicyServer.resetRequestCounts();
+    Measurement roundTripGets = measure("get round-trip client", size, new GetAll(roundTrip));
+    int roundTripRequests = expiryPolicyServer.getExpiryRequestCount();
+
+    expiryPolicyServer.resetRequestCounts();
+    Measurement cachingGets = measure("get caching client", size, new GetAll(caching));
+
+    LOG.info(String.format("caching ExpiryPolicyClient: %+.1f ns/get, %d instead of %d requests to the server",
+        cachingGets.getNanosPerOperation() - roundTripGets.getNanosPerOperation(),
+        expiryPolicyServer.getExpiryRequestCount() + expiryPolicyServer.getExpiryDurationsRequestCount(),
+        roundTripRequests));
+
+    //every copy of a caching client fetches the constant durations at most once
+    assertEquals(0, expiryPolicyServer.getExpiryRequestCount());
+    for (int key = 0; key < size; key++) {
+      assertEquals(Integer.valueOf(key), caching.get(key));
+    }
+    assertEquals(0, expiryPolicyServer.getExpiryRequestCount());
+  }
+
+  private String expiryCacheName(boolean cacheConstantDurations) {
+    return getTestCacheName() + ".cacheConstantDurations." + cacheConstantDurations;
+  }
+
+  private Cache<Integer, Integer> createExpiryCache(boolean cacheConstantDurations) {
+    ExpiryPolicyClient client = new ExpiryPolicyClient(expiryPolicyServer.getInetAddress(),
+        expiryPolicyServer.getPort(), cacheConstantDurations);
+    MutableConfiguration<Integer, Integer> configuration = newMutableConfiguration();
+    configuration.setExpiryPolicyFactory(FactoryBuilder.factoryOf(client));
+    return getCacheManager().createCache(expiryCacheName(cacheConstantDurations), configuration);
+  }
+
+  private static Cache<Integer, Integer> populate(Cache<Integer, Integer> cache, int size) {
+    for (int key = 0; key < size; key++) {
+      cache.put(key, key);
+    }
+    return cache;
+  }
+
+  /**
+   * Reads every key of a populated cache.
+   */
+  private static class GetAll implements Workload {
+
+    private final Cache<Integer, Integer> cache;
+
+    GetAll(Cache<Integer, Integer> cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    public void run(int operations) {
+      for (int key = 0; key < operations; key++) {
+        cache.get(key);
+      }
+    }
+  }
+}
@@ -0,0 +1,275 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import org.jsr107.tck.testutil.AssertionUtil.AssertionRunnable;
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.jsr107.tck.time.TimeSource;
+import org.jsr107.tck.time.TimeSources;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import javax.cache.Cache;
+import javax.cache.configuration.Factory;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.AccessedExpiryPolicy;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.ExpiryPolicy;
+import javax.cache.expiry.ModifiedExpiryPolicy;
+import javax.cache.expiry.TouchedExpiryPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.jsr107.tck.testutil.AssertionUtil.assertEventually;
+import static org.jsr107.tck.testutil.AssertionUtil.assertEventuallyAsTimePasses;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Measures how an implementation copes with expiry of large populations.
+ * <p>
+ * For each of the standard {@link ExpiryPolicy}s this reports the overhead expiry
+ * checking adds to {@link Cache#get(Object)}, and, for a spread of short durations,
+ * how long an expired population takes to disappear without being accessed, the heap
+ * it retains in the meantime, what it costs to expire it by accessing every entry and
+ * the rate at which {@link javax.cache.event.EventType#EXPIRED} events are delivered.
+ * </p>
+ * Implementations that expire eagerly with a sweeper deliver the events without any
+ * access; implementations that expire lazily only deliver them once entries are touched.
+ */
+@RunWith(Parameterized.class)
+public class ExpiryScaleTest extends PerformanceTestSupport<Integer, Integer> {
+
+  /**
+   * name of system property to obtain the comma separated population sizes, if set
+   */
+  public static final String SIZES_PROPERTY = "org.jsr107.tck.performance.expiry.sizes";
+
+  /**
+   * name of system property to obtain the comma separated expiry durations in milliseconds, if set
+   */
+  public static final String DURATIONS_PROPERTY = "org.jsr107.tck.performance.expiry.durations";
+
+  /**
+   * name of system property to obtain how long to wait for an expired population to disappear, if set
+   */
+  public static final String SWEEP_TIMEOUT_PROPERTY = "org.jsr107.tck.performance.expiry.sweep.timeout.seconds";
+
+  private static final String DEFAULT_SIZES = "100000";
+
+  private static final String DEFAULT_DURATIONS = "250,1000";
+
+  private static final int DEFAULT_SWEEP_TIMEOUT_SECONDS = 5;
+
+  private static final Duration LONG_DURATION = new Duration(TimeUnit.HOURS, 1);
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] {
+        {"CreatedExpiryPolicy"}, {"AccessedExpiryPolicy"}, {"TouchedExpiryPolicy"}, {"ModifiedExpiryPolicy"}
+    });
+  }
+
+  @Parameter
+  public String policyName;
+
+  private final List<String> scaleCacheNames = new ArrayList<String>();
+
+  @Override
+  protected MutableConfiguration<Integer, Integer> newMutableConfiguration() {
+    return new MutableConfiguration<Integer, Integer>().setTypes(Integer.class, Integer.class);
+  }
+
+  @After
+  public void destroyScaleCaches() {
+    for (String cacheName : scaleCacheNames) {
+      getCacheManager().destroyCache(cacheName);
+    }
+    scaleCacheNames.clear();
+  }
+
+  /**
+   * Compares reading a populated cache whose entries never expire with reading one
+   * using the policy with a duration long enough for no entry to expire.
+   */
+  @Test
+  public void getOverheadOfExpiryChecks() throws Exception {
+    for (final int size : getIntList(SIZES_PROPERTY, DEFAULT_SIZES)) {
+      Cache<Integer, Integer> eternal = populate(createScaleCache("eternal." + size,
+          FactoryBuilder.factoryOf(new CreatedExpiryPolicy(Duration.ETERNAL)), null), size);
+      Cache<Integer, Integer> expiring = populate(createScaleCache("expiring." + size,
+          policyFactory(LONG_DURATION), null), size);
+
+      Measurement baseline = measure("get eternal size=" + size, size, new GetAll(eternal));
+      Measurement policy = measure("get " + policyName + " size=" + size, size, new GetAll(expiring));
+
+      LOG.info(String.format("%s expiry check overhead on get at size=%d: %+.1f ns/op, %+.1f bytes/op",
+          policyName, size, policy.getNanosPerOperation() - baseline.getNanosPerOperation(),
+          policy.getBytesPerOperation() - baseline.getBytesPerOperation()));
+
+      destroyScaleCaches();
+    }
+  }
+
+  /**
+   * Lets a population expire and observes how it disappears, first without and then
+   * with accessing the entries.
+   */
+  @Test
+  public void expiredPopulationDisappears() throws Exception {
+    TimeSource timeSource = TimeSources.getTimeSource();
+    int sweepTimeoutSeconds = getIntProperty(SWEEP_TIMEOUT_PROPERTY, DEFAULT_SWEEP_TIMEOUT_SECONDS);
+
+    for (int size : getIntList(SIZES_PROPERTY, DEFAULT_SIZES)) {
+      for (int durationMillis : getIntList(DURATIONS_PROPERTY, DEFAULT_DURATIONS)) {
+        String description = policyName + " size=" + size + " duration=" + durationMillis + "ms";
+        final MyCacheEntryListener<Integer, Integer> listener = new MyCacheEntryListener<Integer, Integer>();
+
+        long heapBefore = usedHeapAfterGc();
+        Cache<Integer, Integer> cache = populate(createScaleCache("expiry." + size + "." + durationMillis,
+            policyFactory(new Duration(TimeUnit.MILLISECONDS, durationMillis)), listener), size);
+        awaitCreatedEvents(listener, size, sweepTimeoutSeconds);
+        long heapPopulated = usedHeapAfterGc();
+
+        timeSource.advance(durationMillis, TimeUnit.MILLISECONDS);
+        long expiredAt = System.nanoTime();
+
+        // eager expiry: wait without touching the entries
+        boolean swept = awaitExpiredEvents(listener, size, sweepTimeoutSeconds);
+        long sweepNanos = System.nanoTime() - expiredAt;
+        long heapExpired = usedHeapAfterGc();
+
+        // lazy expiry: touching the entries must expire them
+        long touchStart = System.nanoTime();
+        for (int key = 0; key < size; key++) {
+          assertNull(cache.get(key));
+        }
+        long touchNanos = System.nanoTime() - touchStart;
+        awaitExpiredEvents(listener, size, sweepTimeoutSeconds);
+        // woken by the listener's change signal, so this is when the last event arrived
+        long eventsNanos = swept ? sweepNanos : System.nanoTime() - expiredAt;
+
+        LOG.info(String.format("%s: populated heap %.1f bytes/entry, %s, " +
+                "residual heap after expiry %.1f bytes/entry, touch to expire %.1f ns/entry, " +
+                "%d EXPIRED events at %.0f events/s",
+            description,
+            (heapPopulated - heapBefore) / (double) size,
+            swept ? String.format("swept without access in %d ms", TimeUnit.NANOSECONDS.toMillis(sweepNanos))
+                  : "not swept without access within " + sweepTimeoutSeconds + "s",
+            (heapExpired - heapBefore) / (double) size,
+            touchNanos / (double) size,
+            listener.getExpired(),
+            eventsNanos <= 0 ? 0 : listener.getExpired() * (double) TimeUnit.SECONDS.toNanos(1) / eventsNanos));
+
+        destroyScaleCaches();
+      }
+    }
+  }
+
+  private static void awaitCreatedEvents(final MyCacheEntryListener<Integer, Integer> listener, final int size,
+                                         int timeoutSeconds) {
+    assertEventually(new AssertionRunnable() {
+      @Override
+      public void run() throws Exception {
+        assertEquals(size, listener.getCreated());
+      }
+    }, listener.getChangeSignal(), timeoutSeconds);
+  }
+
+  private static boolean awaitExpiredEvents(final MyCacheEntryListener<Integer, Integer> listener, final int size,
+                                            int timeoutSeconds) {
+    try {
+      //a sweeper driven by a virtual clock only runs as the clock moves
+      assertEventuallyAsTimePasses(new AssertionRunnable() {
+        @Override
+        public void run() throws Exception {
+          assertEquals(size, listener.getExpired());
+        }
+      }, listener.getChangeSignal(), timeoutSeconds);
+      return true;
+    } catch (AssertionError e) {
+      return false;
+    }
+  }
+
+  private Factory<? extends ExpiryPolicy> policyFactory(Duration duration) {
+    if ("CreatedExpiryPolicy".equals(policyName)) {
+      return FactoryBuilder.factoryOf(new CreatedExpiryPolicy(duration));
+    } else if ("AccessedExpiryPolicy".equals(policyName)) {
+      return FactoryBuilder.factoryOf(new AccessedExpiryPolicy(duration));
+    } else if ("TouchedExpiryPolicy".equals(policyName)) {
+      return FactoryBuilder.factoryOf(new TouchedExpiryPolicy(duration));
+    } else {
+      return FactoryBuilder.factoryOf(new ModifiedExpiryPolicy(duration));
+    }
+  }
+
+  private Cache<Integer, Integer> createScaleCache(String suffix, Factory<? extends ExpiryPolicy> expiryPolicyFactory,
+                                                   MyCacheEntryListener<Integer, Integer> listener) {
+    MutableConfiguration<Integer, Integer> configuration = newMutableConfiguration();
+    configuration.setExpiryPolicyFactory(expiryPolicyFactory);
+    if (listener != null) {
+      configuration.addCacheEntryListenerConfiguration(new MutableCacheEntryListenerConfiguration<Integer, Integer>(
+          FactoryBuilder.factoryOf(listener), null, false, false));
+    }
+    String cacheName = getTestCacheName() + "." + policyName + "." + suffix;
+    scaleCacheNames.add(cacheName);
+    return getCacheManager().createCache(cacheName, configuration);
+  }
+
+  private static Cache<Integer, Integer> populate(Cache<Integer, Integer> cache, int size) {
+    for (int key = 0; key < size; key++) {
+      cache.put(key, key);
+    }
+    return cache;
+  }
+
+  private static List<Integer> getIntList(String name, String defaultValue) {
+    List<Integer> values = new ArrayList<Integer>();
+    for (String value : System.getProperty(name, defaultValue).split(",")) {
+      values.add(Integer.valueOf(value.trim()));
+    }
+    return values;
+  }
+
+  /**
+   * Reads every key of a populated cache.
+   */
+  private static class GetAll implements Workload {
+
+    private final Cache<Integer, Integer> cache;
+
+    GetAll(Cache<Integer, Integer> cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    public void run(int operations) {
+      for (int key = 0; key < operations; key++) {
+        cache.get(key);
+      }
+    }
+  }
+}
@@ -0,0 +1,247 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import javax.cache.Cache;
+import javax.cache.configuration.MutableConfiguration;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Measures how {@link Cache#iterator()} scales with the size of a cache.
+ * <p>
+ * Reports the time to obtain the first element, iteration throughput, the bytes
+ * allocated and the peak heap used while iterating, both on a quiescent cache and
+ * while other threads modify it, and the cost of {@link Iterator#remove()}.
+ * An implementation that copies the whole cache when an iterator is created shows
+ * a time to first element and an allocation growing with the size of the cache;
+ * a weakly consistent iterator shows neither.
+ * </p>
+ */
+public class IteratorScaleTest extends PerformanceTestSupport<Integer, Integer> {
+
+  /**
+   * name of system property to obtain the number of entries to iterate over, if set
+   */
+  public static final String SIZE_PROPERTY = "org.jsr107.tck.performance.iterator.size";
+
+  /**
+   * name of system property to obtain the number of threads modifying the cache while it is iterated, if set
+   */
+  public static final String MUTATORS_PROPERTY = "org.jsr107.tck.performance.iterator.mutators";
+
+  private static final int DEFAULT_SIZE = 1000000;
+
+  private static final int DEFAULT_MUTATORS = 2;
+
+  private static final int BATCH = 10000;
+
+  private static final int FIRST_ELEMENT_ROUNDS = 10;
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  private int size;
+
+  // written by each iteration so that it cannot be optimized away
+  private volatile long checksum;
+
+  @Override
+  protected MutableConfiguration<Integer, Integer> newMutableConfiguration() {
+    return new MutableConfiguration<Integer, Integer>().setTypes(Integer.class, Integer.class);
+  }
+
+  @Before
+  public void populate() {
+    size = getIntProperty(SIZE_PROPERTY, DEFAULT_SIZE);
+    populate(0, size);
+  }
+
+  @Test
+  public void iterateQuiescentCache() throws Exception {
+    long populatedHeap = usedHeapAfterGc();
+    LOG.info(String.format("iterator size=%d: time to first element %.3f ms",
+        size, timeToFirstElementNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+
+    resetPeakHeap();
+    Measurement iteration = measure("iterate size=" + size, size, new Iterate());
+    reportPeakHeap("iterate", populatedHeap);
+    LOG.info(String.format("iterate size=%d: %.0f entries/s, %.1f bytes allocated/entry",
+        size, iteration.getThroughput(), iteration.getBytesPerOperation()));
+  }
+
+  /**
+   * Iterates while mutators put and remove keys in the upper half of the key range.
+   * Keys in the lower half are present throughout; as the specification does not say
+   * what an iterator returns while the cache is modified, keys of the lower half that
+   * are returned twice or missed are reported rather than asserted.
+   */
+  @Test
+  public void iterateWhileModifying() throws Exception {
+    int mutators = getIntProperty(MUTATORS_PROPERTY, DEFAULT_MUTATORS);
+    final int stable = size / 2;
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final AtomicLong modifications = new AtomicLong();
+    Thread[] threads = new Thread[mutators];
+    for (int i = 0; i < mutators; i++) {
+      final Random random = new Random(i);
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          while (running.get()) {
+            int key = stable + random.nextInt(size - stable);
+            if (random.nextBoolean()) {
+              cache.put(key, key);
+            } else {
+              cache.remove(key);
+            }
+            modifications.incrementAndGet();
+          }
+        }
+      }, "iterator-mutator-" + i);
+      threads[i].start();
+    }
+
+    long populatedHeap = usedHeapAfterGc();
+    try {
+      LOG.info(String.format("iterator size=%d with %d mutators: time to first element %.3f ms",
+          size, mutators, timeToFirstElementNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+
+      resetPeakHeap();
+      long modificationsBefore = modifications.get();
+      Measurement iteration = measure("iterate size=" + size + " mutators=" + mutators, size, new Iterate());
+      reportPeakHeap("iterate with " + mutators + " mutators", populatedHeap);
+      LOG.info(String.format("iterate size=%d with %d mutators: %.0f entries/s, %.1f bytes allocated/entry, " +
+              "%d concurrent modifications",
+          size, mutators, iteration.getThroughput(), iteration.getBytesPerOperation(),
+          modifications.get() - modificationsBefore));
+
+      BitSet seen = new BitSet(stable);
+      int duplicates = 0;
+      for (Cache.Entry<Integer, Integer> entry : cache) {
+        if (entry.getKey() < stable) {
+          if (seen.get(entry.getKey())) {
+            duplicates++;
+          }
+          seen.set(entry.getKey());
+        }
+      }
+      LOG.info(String.format("iterate size=%d with %d mutators: of %d keys present throughout, " +
+              "%d were returned twice and %d were missed",
+          size, mutators, stable, duplicates, stable - seen.cardinality()));
+    } finally {
+      running.set(false);
+      for (Thread thread : threads) {
+        thread.join();
+      }
+    }
+  }
+
+  /**
+   * Compares removing every entry through the iterator with iterating alone.
+   */
+  @Test
+  public void removeThroughIterator() throws Exception {
+    Measurement iteration = measure("iterate size=" + size, size, new Iterate());
+
+    long start = System.nanoTime();
+    int removed = 0;
+    for (Iterator<Cache.Entry<Integer, Integer>> iterator = cache.iterator(); iterator.hasNext(); ) {
+      iterator.next();
+      iterator.remove();
+      removed++;
+    }
+    long elapsed = System.nanoTime() - start;
+
+    assertEquals(size, removed);
+    assertFalse(cache.iterator().hasNext());
+    LOG.info(String.format("iterator remove size=%d: %.1f ns/entry including iteration, %+.1f ns/entry for remove",
+        size, elapsed / (double) size, elapsed / (double) size - iteration.getNanosPerOperation()));
+  }
+
+  private void populate(int from, int to) {
+    Map<Integer, Integer> batch = new HashMap<Integer, Integer>();
+    for (int key = from; key < to; key++) {
+      batch.put(key, key);
+      if (batch.size() == BATCH || key == to - 1) {
+        cache.putAll(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private long timeToFirstElementNanos() {
+    long total = 0;
+    for (int i = 0; i < FIRST_ELEMENT_ROUNDS; i++) {
+      long start = System.nanoTime();
+      Iterator<Cache.Entry<Integer, Integer>> iterator = cache.iterator();
+      iterator.next();
+      total += System.nanoTime() - start;
+    }
+    return total / FIRST_ELEMENT_ROUNDS;
+  }
+
+  private static void resetPeakHeap() {
+    usedHeapAfterGc();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+      }
+    }
+  }
+
+  /**
+   * Reports the sum of the peaks of the heap pools since {@link #resetPeakHeap()}.
+   * As the pools may peak at different times this is an upper bound, which also
+   * includes garbage not yet collected.
+   */
+  private void reportPeakHeap(String description, long populatedHeap) {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    LOG.info(String.format("%s size=%d: peak heap %.1f MB above the populated cache, %.1f bytes/entry",
+        description, size, (peak - populatedHeap) / (1024.0 * 1024.0), (peak - populatedHeap) / (double) size));
+  }
+
+  /**
+   * Iterates over the whole cache.
+   */
+  private class Iterate implements Workload {
+    @Override
+    public void run(int operations) {
+      long sum = 0;
+      for (Cache.Entry<Integer, Integer> entry : cache) {
+        sum += entry.getValue();
+      }
+      checksum = sum;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.jsr107.tck.testutil.TestSupport;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.MutableConfiguration;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.jsr107.tck.testutil.TestSupport.MBeanType.CacheConfiguration;
+import static org.jsr107.tck.testutil.TestSupport.MBeanType.CacheStatistics;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures how an implementation copes with creating, registering with JMX and
+ * destroying a large number of caches, as services that create a cache per tenant do.
+ * <p>
+ * Every cache is created, has management and statistics enabled with
+ * {@link CacheManager#enableManagement(String, boolean)} and
+ * {@link CacheManager#enableStatistics(String, boolean)}, and is destroyed. The latency
+ * of each step is reported per cache, and once the caches are destroyed none of their
+ * {@link ObjectName}s may remain registered with the platform {@link MBeanServer}.
+ * </p>
+ * Caches are churned one at a time, and also all registered before any is destroyed,
+ * which shows whether registration slows down as the number of registered MBeans grows.
+ */
+public class ManagementChurnScaleTest extends PerformanceTestSupport<Long, String> {
+
+  /**
+   * name of system property to obtain the number of caches to churn, if set
+   */
+  public static final String CACHES_PROPERTY = "org.jsr107.tck.performance.management.caches";
+
+  private static final int DEFAULT_CACHES = 10000;
+
+  private static final String[] STEPS = {"createCache", "enableManagement", "enableStatistics", "destroyCache"};
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  private final List<String> churnedCacheNames = new ArrayList<String>();
+
+  @Override
+  protected MutableConfiguration<Long, String> newMutableConfiguration() {
+    return new MutableConfiguration<Long, String>().setTypes(Long.class, String.class);
+  }
+
+  @After
+  public void destroyChurnedCaches() {
+    for (String cacheName : churnedCacheNames) {
+      getCacheManager().destroyCache(cacheName);
+    }
+    churnedCacheNames.clear();
+  }
+
+  @Test
+  public void churnOneCacheAtATime() throws Exception {
+    int caches = getIntProperty(CACHES_PROPERTY, DEFAULT_CACHES);
+    String prefix = getTestCacheName() + ".churn.";
+    long[][] nanos = new long[STEPS.length][caches];
+
+    for (int i = 0; i < caches; i++) {
+      String cacheName = prefix + i;
+      churnedCacheNames.add(cacheName);
+      nanos[0][i] = create(cacheName);
+      nanos[1][i] = enableManagement(cacheName);
+      nanos[2][i] = enableStatistics(cacheName);
+      assertRegistered(cacheName);
+      nanos[3][i] = destroy(cacheName);
+      churnedCacheNames.remove(cacheName);
+    }
+
+    report("one at a time", nanos);
+    assertNoLeakedObjectNames(prefix);
+  }
+
+  @Test
+  public void registerAllCachesThenDestroy() throws Exception {
+    int caches = getIntProperty(CACHES_PROPERTY, DEFAULT_CACHES);
+    String prefix = getTestCacheName() + ".registered.";
+    long[][] nanos = new long[STEPS.length][caches];
+
+    for (int i = 0; i < caches; i++) {
+      String cacheName = prefix + i;
+      churnedCacheNames.add(cacheName);
+      nanos[0][i] = create(cacheName);
+      nanos[1][i] = enableManagement(cacheName);
+      nanos[2][i] = enableStatistics(cacheName);
+      assertRegistered(cacheName);
+    }
+    for (int i = 0; i < caches; i++) {
+      nanos[3][i] = destroy(prefix + i);
+    }
+    churnedCacheNames.clear();
+
+    report("all registered", nanos);
+    LOG.info(String.format("all registered: enableManagement of the first %d caches %.1f us/cache, of the last %.1f us/cache",
+        Math.max(1, caches / 10), mean(nanos[1], 0, Math.max(1, caches / 10)) / 1000,
+        mean(nanos[1], caches - Math.max(1, caches / 10), caches) / 1000));
+    assertNoLeakedObjectNames(prefix);
+  }
+
+  private long create(String cacheName) {
+    long start = System.nanoTime();
+    getCacheManager().createCache(cacheName, newMutableConfiguration());
+    return System.nanoTime() - start;
+  }
+
+  private long enableManagement(String cacheName) {
+    long start = System.nanoTime();
+    getCacheManager().enableManagement(cacheName, true);
+    return System.nanoTime() - start;
+  }
+
+  private long enableStatistics(String cacheName) {
+    long start = System.nanoTime();
+    getCacheManager().enableStatistics(cacheName, true);
+    return System.nanoTime() - start;
+  }
+
+  private long destroy(String cacheName) {
+    long start = System.nanoTime();
+    getCacheManager().destroyCache(cacheName);
+    return System.nanoTime() - start;
+  }
+
+  private void assertRegistered(String cacheName) {
+    Cache<Long, String> cache = getCacheManager().getCache(cacheName, Long.class, String.class);
+    MBeanServer mBeanServer = TestSupport.resolveMBeanServer();
+    assertTrue(mBeanServer.isRegistered(calculateObjectName(cache, CacheConfiguration)));
+    assertTrue(mBeanServer.isRegistered(calculateObjectName(cache, CacheStatistics)));
+  }
+
+  private void assertNoLeakedObjectNames(String prefix) throws Exception {
+    String safePrefix = mbeanSafe(prefix);
+    List<ObjectName> leaked = new ArrayList<ObjectName>();
+    for (ObjectName name : TestSupport.resolveMBeanServer().queryNames(new ObjectName("javax.cache:*"), null)) {
+      String cacheName = name.getKeyProperty("Cache");
+      if (cacheName != null && cacheName.startsWith(safePrefix)) {
+        leaked.add(name);
+      }
+    }
+    assertEquals("ObjectNames leaked by destroyed caches: " + leaked, 0, leaked.size());
+  }
+
+  private static void report(String description, long[][] nanos) {
+    for (int step = 0; step < STEPS.length; step++) {
+      long[] sorted = nanos[step].clone();
+      Arrays.sort(sorted);
+      LOG.info(String.format("%s: %s of %d caches mean=%.1f us, p50=%.1f us, p99=%.1f us, max=%.1f us",
+          description, STEPS[step], sorted.length, mean(sorted, 0, sorted.length) / 1000,
+          percentile(sorted, 50) / 1000.0, percentile(sorted, 99) / 1000.0, sorted[sorted.length - 1] / 1000.0));
+    }
+    long total = 0;
+    for (long[] stepNanos : nanos) {
+      for (long n : stepNanos) {
+        total += n;
+      }
+    }
+    LOG.info(String.format("%s: %.1f ms per 1000 caches created, registered and destroyed",
+        description, TimeUnit.NANOSECONDS.toMicros(total) / (double) nanos[0].length));
+  }
+
+  private static double mean(long[] values, int from, int to) {
+    long sum = 0;
+    for (int i = from; i < to; i++) {
+      sum += values[i];
+    }
+    return sum / (double) (to - from);
+  }
+
+  private static long percentile(long[] sorted, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, index)];
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of running a measured workload on a single thread.
+ */
+public class Measurement {
+
+  private final String name;
+  private final long operations;
+  private final long elapsedNanos;
+  private final long allocatedBytes;
+
+  /**
+   * Constructs a {@link Measurement}.
+   *
+   * @param name           a description of the workload
+   * @param operations     the number of cache operations performed
+   * @param elapsedNanos   the wall clock time taken
+   * @param allocatedBytes the bytes allocated by the measuring thread, or -1 if unknown
+   */
+  public Measurement(String name, long operations, long elapsedNanos, long allocatedBytes) {
+    this.name = name;
+    this.operations = operations;
+    this.elapsedNanos = elapsedNanos;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getOperations() {
+    return operations;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * @return operations per second
+   */
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : operations * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  /**
+   * @return the average latency of an operation in nanoseconds
+   */
+  public double getNanosPerOperation() {
+    return operations == 0 ? 0 : elapsedNanos / (double) operations;
+  }
+
+  /**
+   * @return the bytes allocated per operation, or -1 if allocation counting is not supported
+   */
+  public double getBytesPerOperation() {
+    if (allocatedBytes < 0) {
+      return -1;
+    }
+    return operations == 0 ? 0 : allocatedBytes / (double) operations;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: ops=%d, ops/s=%.0f, ns/op=%.1f, bytes/op=%.1f",
+        name, operations, getThroughput(), getNanosPerOperation(), getBytesPerOperation());
+  }
+}
@@ -0,0 +1,164 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import org.jsr107.tck.testutil.ExcludeListExcluder;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.configuration.MutableConfiguration;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures what {@link MutableCacheEntryListenerConfiguration#isOldValueRequired()}
+ * costs an implementation.
+ * <p>
+ * The same put/replace/remove workload is run against two store-by-value caches
+ * which differ only in whether their synchronous listener requires old values.
+ * Throughput, bytes allocated per operation and the number of value copies made
+ * per operation are reported for each.
+ * </p>
+ */
+public class OldValueRequiredCostTest extends PerformanceTestSupport<Long, OldValueRequiredCostTest.CopyCountingValue> {
+
+  /**
+   * Rule used to exclude tests
+   */
+  @Rule
+  public MethodRule rule = new ExcludeListExcluder(this.getClass());
+
+  @Override
+  protected MutableConfiguration<Long, CopyCountingValue> newMutableConfiguration() {
+    return new MutableConfiguration<Long, CopyCountingValue>().setTypes(Long.class, CopyCountingValue.class);
+  }
+
+  @After
+  public void destroyPairedCaches() {
+    getCacheManager().destroyCache(pairedCacheName(true));
+    getCacheManager().destroyCache(pairedCacheName(false));
+  }
+
+  @Test
+  public void putReplaceRemove_OldValueRequiredVersusNotRequired() throws Exception {
+    int entries = Math.max(1, getOperations() / 3);
+
+    MyCacheEntryListener<Long, CopyCountingValue> withOldValue = new MyCacheEntryListener<Long, CopyCountingValue>(true);
+    MyCacheEntryListener<Long, CopyCountingValue> withoutOldValue = new MyCacheEntryListener<Long, CopyCountingValue>(false);
+    Cache<Long, CopyCountingValue> oldValueCache = createPairedCache(withOldValue);
+    Cache<Long, CopyCountingValue> noOldValueCache = createPairedCache(withoutOldValue);
+
+    Measurement required = measure("oldValueRequired=true", entries * 3, new PutReplaceRemove(oldValueCache));
+    Measurement notRequired = measure("oldValueRequired=false", entries * 3, new PutReplaceRemove(noOldValueCache));
+
+    double copiesRequired = countCopiesPerOperation(oldValueCache, entries);
+    double copiesNotRequired = countCopiesPerOperation(noOldValueCache, entries);
+
+    LOG.info(String.format("oldValueRequired cost: throughput %.1f%%, bytes/op %+.1f, copies/op %.2f vs %.2f (%+.2f)",
+        100.0 * (required.getThroughput() - notRequired.getThroughput()) / notRequired.getThroughput(),
+        required.getBytesPerOperation() - notRequired.getBytesPerOperation(),
+        copiesRequired, copiesNotRequired, copiesRequired - copiesNotRequired));
+
+    //every operation of every round must have been seen by the listeners
+    assertAllEventsSeen(withOldValue);
+    assertAllEventsSeen(withoutOldValue);
+  }
+
+  private void assertAllEventsSeen(MyCacheEntryListener<Long, CopyCountingValue> pairedListener) {
+    assertTrue(pairedListener.getCreated() > 0);
+    assertEquals(pairedListener.getCreated(), pairedListener.getUpdated());
+    assertEquals(pairedListener.getCreated(), pairedListener.getRemoved());
+  }
+
+  private String pairedCacheName(boolean oldValueRequired) {
+    return getTestCacheName() + ".oldValueRequired." + oldValueRequired;
+  }
+
+  private Cache<Long, CopyCountingValue> createPairedCache(MyCacheEntryListener<Long, CopyCountingValue> listener) {
+    MutableConfiguration<Long, CopyCountingValue> configuration = newMutableConfiguration().setStoreByValue(true);
+    configuration.addCacheEntryListenerConfiguration(
+        new MutableCacheEntryListenerConfiguration<Long, CopyCountingValue>(
+            FactoryBuilder.factoryOf(listener), null, listener.isOldValueRequired(), true));
+    return getCacheManager().createCache(pairedCacheName(listener.isOldValueRequired()), configuration);
+  }
+
+  private double countCopiesPerOperation(Cache<Long, CopyCountingValue> pairedCache, int entries) throws Exception {
+    long before = CopyCountingValue.COPIES.get();
+    new PutReplaceRemove(pairedCache).run(entries * 3);
+    return (CopyCountingValue.COPIES.get() - before) / (entries * 3.0);
+  }
+
+  /**
+   * Puts, replaces and then removes a range of keys.
+   */
+  private static class PutReplaceRemove implements Workload {
+
+    private final Cache<Long, CopyCountingValue> cache;
+    private final CopyCountingValue first = new CopyCountingValue("first");
+    private final CopyCountingValue second = new CopyCountingValue("second");
+
+    PutReplaceRemove(Cache<Long, CopyCountingValue> cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    public void run(int operations) {
+      int entries = operations / 3;
+      for (long key = 0; key < entries; key++) {
+        cache.put(key, first);
+      }
+      for (long key = 0; key < entries; key++) {
+        cache.replace(key, second);
+      }
+      for (long key = 0; key < entries; key++) {
+        cache.remove(key);
+      }
+    }
+  }
+
+  /**
+   * A value that counts how many times it has been copied by serialization.
+   */
+  public static class CopyCountingValue implements Serializable {
+
+    /**
+     * The number of copies made by deserialization, across all instances.
+     */
+    static final AtomicLong COPIES = new AtomicLong();
+
+    private final String payload;
+
+    public CopyCountingValue(String payload) {
+      this.payload = payload;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      in.defaultReadObject();
+      COPIES.incrementAndGet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CopyCountingValue && payload.equals(((CopyCountingValue) o).payload);
+    }
+
+    @Override
+    public int hashCode() {
+      return payload.hashCode();
+    }
+  }
+}
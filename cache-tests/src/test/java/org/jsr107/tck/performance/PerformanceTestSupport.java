@@ -0,0 +1,95 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.performance;
+
+import org.jsr107.tck.testutil.CacheTestSupport;
+import org.jsr107.tck.testutil.ThreadMetrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Base class for the optional performance measurements.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public abstract class PerformanceTestSupport<K, V> extends CacheTestSupport<K, V> {
+
+  /**
+   * name of system property to obtain the number of operations in a measured workload, if set
+   */
+  public static final String OPERATIONS_PROPERTY = "org.jsr107.tck.performance.operations";
+
+  /**
+   * name of system property to obtain the number of warm up rounds run before measuring, if set
+   */
+  public static final String WARMUP_ROUNDS_PROPERTY = "org.jsr107.tck.performance.warmup.rounds";
+
+  private static final int DEFAULT_OPERATIONS = 10000;
+
+  private static final int DEFAULT_WARMUP_ROUNDS = 2;
+
+  /**
+   * A unit of work that performs a number of cache operations.
+   */
+  public interface Workload {
+    /**
+     * Performs the work.
+     *
+     * @param operations the number of operations to perform
+     */
+    void run(int operations) throws Exception;
+  }
+
+  /**
+   * @return the number of operations each measured workload should perform
+   */
+  protected int getOperations() {
+    return getIntProperty(OPERATIONS_PROPERTY, DEFAULT_OPERATIONS);
+  }
+
+  protected static int getIntProperty(String name, int defaultValue) {
+    return Integer.valueOf(System.getProperty(name, String.valueOf(defaultValue)));
+  }
+
+  /**
+   * @return the heap in use once garbage has been collected, as far as the JVM honours {@link System#gc()}
+   */
+  protected static long usedHeapAfterGc() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  /**
+   * Runs the {@link Workload} a number of times to warm up, then once more while
+   * measuring the elapsed time and the bytes allocated by the calling thread.
+   *
+   * @param name       the name to report the {@link Measurement} under
+   * @param operations the number of operations to perform
+   * @param workload   the {@link Workload}
+   * @return the {@link Measurement}
+   */
+  protected Measurement measure(String name, int operations, Workload workload) throws Exception {
+    int warmupRounds = getIntProperty(WARMUP_ROUNDS_PROPERTY, DEFAULT_WARMUP_ROUNDS);
+    for (int i = 0; i < warmupRounds; i++) {
+      workload.run(operations);
+    }
+
+    long allocatedBefore = ThreadMetrics.currentThreadAllocatedBytes();
+    long start = System.nanoTime();
+    workload.run(operations);
+    long elapsed = System.nanoTime() - start;
+    long allocatedAfter = ThreadMetrics.currentThreadAllocatedBytes();
+
+    long allocated = allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore;
+    Measurement measurement = new Measurement(name, operations, elapsed, allocated);
+    LOG.info(measurement.toString());
+    return measurement;
+  }
+}
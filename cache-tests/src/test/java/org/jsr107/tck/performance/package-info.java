@@ -0,0 +1,20 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+
+/**
+ This package contains optional performance measurements for JSR107 implementations.
+
+ These tests are not part of the conformance run. They only make sanity assertions and
+ report throughput and allocation figures through the logger. They are excluded by default
+ and may be run from the implementation-tester with:
+
+ mvn -P test-performance clean install
+
+ The size of each workload can be tuned with the system property
+ org.jsr107.tck.performance.operations.
+ */
+package org.jsr107.tck.performance;
@@ -0,0 +1,257 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.testutil;
+
+import org.jsr107.tck.support.Server;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An opt-in JUnit {@link RunListener} that records the memory allocated while each
+ * test runs and writes a report when the run finishes.
+ * <p>
+ * For each test it records the bytes allocated by the thread running the test,
+ * which covers the test and the implementation code it calls, by the threads of the
+ * TCK {@link org.jsr107.tck.support.Server}s, which serve loaders, writers,
+ * listeners and expiry policies, and by all other threads, which are mostly the
+ * implementation's own. Threads that end during a test are not counted. It also
+ * records the number and duration of garbage collections. The bytes of the test
+ * thread are read first when the test finishes and last when it starts, so that
+ * the listener's own bookkeeping is not counted.
+ * </p>
+ * <p>
+ * The report is written to the file named by {@link #REPORT_PROPERTY}, as JSON if
+ * the name ends with {@code .json} and as CSV otherwise. Enable the listener from the
+ * implementation-tester with:
+ * </p>
+ * mvn -P allocation-report clean install
+ */
+public class AllocationReportListener extends RunListener {
+
+  /**
+   * name of system property to obtain the file to write the report to, if set
+   */
+  public static final String REPORT_PROPERTY = "org.jsr107.tck.allocation.report";
+
+  private static final String DEFAULT_REPORT = "target/tck-allocation.csv";
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private static final Logger LOG = Logger.getLogger(AllocationReportListener.class.getName());
+
+  private final List<Sample> samples = Collections.synchronizedList(new ArrayList<Sample>());
+
+  // the sample of the test running on each thread
+  private final ThreadLocal<Sample> current = new ThreadLocal<Sample>();
+
+  @Override
+  public void testStarted(Description description) {
+    Sample sample = new Sample(description);
+    current.set(sample);
+    sample.start();
+  }
+
+  @Override
+  public void testFailure(Failure failure) {
+    setOutcome("failed");
+  }
+
+  @Override
+  public void testAssumptionFailure(Failure failure) {
+    setOutcome("skipped");
+  }
+
+  @Override
+  public void testFinished(Description description) {
+    Sample sample = current.get();
+    if (sample != null) {
+      sample.finish();
+      samples.add(sample);
+      current.remove();
+    }
+  }
+
+  private void setOutcome(String outcome) {
+    Sample sample = current.get();
+    if (sample != null) {
+      sample.outcome = outcome;
+    }
+  }
+
+  @Override
+  public void testRunFinished(Result result) throws IOException {
+    if (!ThreadMetrics.isAllocationCountingSupported()) {
+      LOG.warning("Allocation counting is not supported by this JVM; the allocation report has no byte counts");
+    }
+    File report = new File(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+    if (report.getAbsoluteFile().getParentFile() != null) {
+      report.getAbsoluteFile().getParentFile().mkdirs();
+    }
+    PrintWriter writer = new PrintWriter(new FileWriter(report));
+    try {
+      if (report.getName().endsWith(".json")) {
+        writeJson(writer);
+      } else {
+        writeCsv(writer);
+      }
+    } finally {
+      writer.close();
+    }
+    LOG.log(Level.INFO, "Wrote allocation report of {0} tests to {1}", new Object[] {samples.size(), report});
+  }
+
+  private void writeCsv(PrintWriter writer) {
+    writer.println("test,outcome,test_thread_bytes,tck_server_bytes,other_thread_bytes,gc_count,gc_millis");
+    for (Sample sample : samples) {
+      writer.println(String.format("%s,%s,%d,%d,%d,%d,%d", csv(sample.name), sample.outcome, sample.testThreadBytes,
+          sample.serverThreadBytes, sample.otherThreadBytes, sample.gcCount, sample.gcMillis));
+    }
+  }
+
+  private void writeJson(PrintWriter writer) {
+    writer.println("[");
+    for (int i = 0; i < samples.size(); i++) {
+      Sample sample = samples.get(i);
+      writer.print(String.format("  {\"test\": %s, \"outcome\": \"%s\", \"testThreadBytes\": %d, " +
+              "\"tckServerBytes\": %d, \"otherThreadBytes\": %d, \"gcCount\": %d, \"gcMillis\": %d}",
+          json(sample.name), sample.outcome, sample.testThreadBytes, sample.serverThreadBytes, sample.otherThreadBytes,
+          sample.gcCount, sample.gcMillis));
+      writer.println(i < samples.size() - 1 ? "," : "");
+    }
+    writer.println("]");
+  }
+
+  /**
+   * Quotes a value for CSV, doubling the quotes it contains.
+   */
+  private static String csv(String value) {
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+
+  /**
+   * Quotes a value as a JSON string, escaping quotes, backslashes and control characters.
+   */
+  private static String json(String value) {
+    StringBuilder builder = new StringBuilder("\"");
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        builder.append('\\').append(c);
+      } else if (c < 0x20) {
+        builder.append(String.format("\\u%04x", (int) c));
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.append('"').toString();
+  }
+
+  /**
+   * The allocation and garbage collection of a single test.
+   */
+  private static class Sample {
+
+    private final String name;
+    private final long testThreadId = Thread.currentThread().getId();
+    private String outcome = "passed";
+
+    private Map<Long, Long> bytesAtStart;
+    private long testThreadBytesAtStart;
+    private long gcCountAtStart;
+    private long gcMillisAtStart;
+
+    private long testThreadBytes;
+    private long serverThreadBytes;
+    private long otherThreadBytes;
+    private long gcCount;
+    private long gcMillis;
+
+    Sample(Description description) {
+      this.name = description.getClassName() + "#" + description.getMethodName();
+    }
+
+    void start() {
+      gcCountAtStart = totalGcCount();
+      gcMillisAtStart = totalGcMillis();
+      bytesAtStart = allocatedBytesByThread(THREAD_MX_BEAN.getAllThreadIds());
+      // last, so that the bookkeeping above is not counted
+      testThreadBytesAtStart = ThreadMetrics.currentThreadAllocatedBytes();
+    }
+
+    void finish() {
+      // first, so that the bookkeeping below is not counted
+      long testThreadBytesAtEnd = ThreadMetrics.currentThreadAllocatedBytes();
+      testThreadBytes = testThreadBytesAtEnd - testThreadBytesAtStart;
+
+      long[] ids = THREAD_MX_BEAN.getAllThreadIds();
+      Map<Long, Long> bytesAtEnd = allocatedBytesByThread(ids);
+      ThreadInfo[] threads = THREAD_MX_BEAN.getThreadInfo(ids);
+      for (int i = 0; i < ids.length; i++) {
+        Long end = bytesAtEnd.get(ids[i]);
+        if (end == null || threads[i] == null || ids[i] == testThreadId) {
+          continue;
+        }
+        Long start = bytesAtStart.get(ids[i]);
+        long allocated = end - (start == null ? 0 : start);
+        if (threads[i].getThreadName().startsWith(Server.THREAD_NAME_PREFIX)) {
+          serverThreadBytes += allocated;
+        } else {
+          otherThreadBytes += allocated;
+        }
+      }
+      gcCount = totalGcCount() - gcCountAtStart;
+      gcMillis = totalGcMillis() - gcMillisAtStart;
+    }
+
+    private static Map<Long, Long> allocatedBytesByThread(long[] ids) {
+      Map<Long, Long> bytes = new HashMap<Long, Long>();
+      long[] allocated = ThreadMetrics.threadAllocatedBytes(ids);
+      if (allocated != null) {
+        for (int i = 0; i < ids.length; i++) {
+          if (allocated[i] >= 0) {
+            bytes.put(ids[i], allocated[i]);
+          }
+        }
+      }
+      return bytes;
+    }
+
+    private static long totalGcCount() {
+      long count = 0;
+      for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+        count += Math.max(0, bean.getCollectionCount());
+      }
+      return count;
+    }
+
+    private static long totalGcMillis() {
+      long millis = 0;
+      for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+        millis += Math.max(0, bean.getCollectionTime());
+      }
+      return millis;
+    }
+  }
+}
@@ -7,6 +7,12 @@
 
 package org.jsr107.tck.testutil;
 
+import org.jsr107.tck.support.ChangeSignal;
+import org.jsr107.tck.time.TimeSource;
+import org.jsr107.tck.time.TimeSources;
+
+import java.util.concurrent.TimeUnit;
+
 import static java.lang.System.currentTimeMillis;
 
 /**
@@ -15,31 +21,135 @@ import static java.lang.System.currentTimeMillis;
 public abstract class AssertionUtil {
 
   /**
-   * Periodically executes the {@code assertionRunnable} until it does not throw an {@code AssertionError} or
+   * The first pause between two attempts of {@link #assertEventually}.
+   */
+  private static final long INITIAL_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  /**
+   * The longest pause between two attempts of {@link #assertEventually}.
+   */
+  private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+  /**
+   * The first step by which {@link #assertEventually} moves a virtual {@link TimeSource}.
+   */
+  private static final long INITIAL_VIRTUAL_STEP_MILLIS = 1;
+
+  /**
+   * The period at which {@link #assertAllTheTime} executes its assertion.
+   */
+  private static final long ALL_THE_TIME_PERIOD_MILLIS = 200;
+
+  /**
+   * Repeatedly executes the {@code assertionRunnable} until it does not throw an {@code AssertionError} or
    * {@code timeoutSeconds} seconds pass, whichever happens first. In the former case, the assertion is considered
    * successful, otherwise it is considered a failure and the last {@code AssertionError} thrown by the
    * {@code assertionRunnable} is rethrown.
    * <p>
+   * Attempts are retried with an exponential backoff, starting at 100 microseconds and growing to at most
+   * 200 milliseconds, so that conditions which hold quickly are detected quickly.
+   * <p>
    * This method does not make any attempt to enforce the given {@code timeoutSeconds} in case execution of the
    * {@code assertionRunnable} takes longer than {@code timeoutSeconds}.
+   * <p>
+   * A virtual {@link TimeSource} is left untouched, so that retrying does not age the entries of the cache. Use
+   * {@link #assertEventuallyAsTimePasses} when the condition needs time to pass.
    *
    * @param assertionRunnable
    * @param timeoutSeconds
+   * @return the time waited until the assertion succeeded, in nanoseconds
    */
-  public static void assertEventually(AssertionRunnable assertionRunnable, int timeoutSeconds) {
-    long deadline = currentTimeMillis() + timeoutSeconds * 1000;
-    while (currentTimeMillis() < deadline) {
+  public static long assertEventually(AssertionRunnable assertionRunnable, int timeoutSeconds) {
+    return assertEventually(assertionRunnable, null, timeoutSeconds);
+  }
+
+  /**
+   * Like {@link #assertEventually(AssertionRunnable, int)}, but rather than only backing off between attempts,
+   * wakes up as soon as the given {@link ChangeSignal} is signalled. Use the signal of the recording fixture
+   * whose state the {@code assertionRunnable} checks, for example
+   * {@link org.jsr107.tck.integration.RecordingCacheWriter#getChangeSignal()} or
+   * {@link CacheTestSupport.MyCacheEntryListener#getChangeSignal()}.
+   *
+   * @param assertionRunnable
+   * @param changeSignal the {@link ChangeSignal} to wait on, or null to only back off
+   * @param timeoutSeconds
+   * @return the time waited until the assertion succeeded, in nanoseconds
+   */
+  public static long assertEventually(AssertionRunnable assertionRunnable, ChangeSignal changeSignal,
+                                      int timeoutSeconds) {
+    return assertEventually(assertionRunnable, changeSignal, timeoutSeconds, false);
+  }
+
+  /**
+   * Like {@link #assertEventually(AssertionRunnable, ChangeSignal, int)}, for conditions that need the
+   * implementation's time to pass, such as entries being expired.
+   * <p>
+   * When the implementation provides a virtual {@link TimeSource}, failed attempts do not wait for the time to
+   * pass: the virtual clock is moved forward in doubling steps, starting at 1 millisecond, until it has been
+   * advanced by {@code timeoutSeconds}, and the assertion is executed again after each step. A time-dependent
+   * condition is therefore reached at once, having advanced the clock by at most twice the time it needed. Only
+   * then does the wall clock backoff resume, for work the implementation does asynchronously. Every entry of
+   * every cache ages by the time the clock is moved.
+   *
+   * @param assertionRunnable
+   * @param changeSignal the {@link ChangeSignal} to wait on, or null to only back off
+   * @param timeoutSeconds
+   * @return the time waited until the assertion succeeded, in nanoseconds
+   */
+  public static long assertEventuallyAsTimePasses(AssertionRunnable assertionRunnable, ChangeSignal changeSignal,
+                                                  int timeoutSeconds) {
+    return assertEventually(assertionRunnable, changeSignal, timeoutSeconds, true);
+  }
+
+  private static long assertEventually(AssertionRunnable assertionRunnable, ChangeSignal changeSignal,
+                                       int timeoutSeconds, boolean advanceTime) {
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+    TimeSource timeSource = TimeSources.getTimeSource();
+    long virtualMillisLeft = advanceTime && timeSource.isVirtual() ? TimeUnit.SECONDS.toMillis(timeoutSeconds) : 0;
+    long virtualStep = INITIAL_VIRTUAL_STEP_MILLIS;
+    long backoff = INITIAL_BACKOFF_NANOS;
+    while (System.nanoTime() - deadline < 0) {
+      long seenVersion = changeSignal == null ? 0 : changeSignal.getVersion();
       try {
         runSafely(assertionRunnable);
-        return;
+        return System.nanoTime() - start;
       } catch (AssertionError assertionError) {
       }
+      if (virtualMillisLeft > 0) {
+        // move the implementation's clock instead of waiting for the time to pass
+        long step = Math.min(virtualStep, virtualMillisLeft);
+        advance(timeSource, step);
+        virtualMillisLeft -= step;
+        virtualStep *= 2;
+        pause(changeSignal, seenVersion, Math.min(INITIAL_BACKOFF_NANOS, deadline - System.nanoTime()));
+      } else {
+        pause(changeSignal, seenVersion, Math.min(backoff, deadline - System.nanoTime()));
+        backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+      }
+    }
+    runSafely(assertionRunnable);
+    return System.nanoTime() - start;
+  }
+
+  private static void pause(ChangeSignal changeSignal, long seenVersion, long nanos) {
+    if (nanos > 0) {
       try {
-        Thread.sleep(200);
+        if (changeSignal == null) {
+          TimeUnit.NANOSECONDS.sleep(nanos);
+        } else {
+          changeSignal.awaitChange(seenVersion, nanos);
+        }
       } catch (InterruptedException e) {
       }
     }
-    runSafely(assertionRunnable);
+  }
+
+  private static void advance(TimeSource timeSource, long millis) {
+    try {
+      timeSource.advance(millis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+    }
   }
 
   /**
@@ -48,6 +158,8 @@ public abstract class AssertionUtil {
    * <p>
    * This method does not try to enforce the given {@code timeoutSeconds} in case execution of the
    * {@code assertionRunnable} takes longer than that duration.
+   * <p>
+   * The wait is on the wall clock; a virtual {@link TimeSource} is left untouched.
    *
    * @param assertionRunnable
    * @param timeoutSeconds
@@ -55,13 +167,9 @@ public abstract class AssertionUtil {
   public static void assertAllTheTime(AssertionRunnable assertionRunnable, int timeoutSeconds) {
     long deadline = currentTimeMillis() + timeoutSeconds * 1000;
     while (currentTimeMillis() < deadline) {
+      runSafely(assertionRunnable);
       try {
-        runSafely(assertionRunnable);
-      } catch (AssertionError assertionError) {
-        throw assertionError;
-      }
-      try {
-        Thread.sleep(200);
+        Thread.sleep(ALL_THE_TIME_PERIOD_MILLIS);
       } catch (InterruptedException e) {
       }
     }
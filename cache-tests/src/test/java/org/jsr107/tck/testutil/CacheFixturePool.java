@@ -0,0 +1,194 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.testutil;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.CompleteConfiguration;
+import javax.cache.configuration.Factory;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.EternalExpiryPolicy;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.jsr107.tck.testutil.AssertionUtil.assertEventually;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * An optional pool of the caches created by {@link CacheTestSupport}, which lets
+ * the tests of a class share a cache instead of creating and destroying one
+ * around every test.
+ * <p>
+ * Enabled by setting the system property {@link #REUSE_PROPERTY} to true. A cache
+ * is only pooled when its configuration has no listeners, loader, writer or
+ * expiry policy, as those are bound to the test that created them, and when the
+ * test left its configuration unchanged; otherwise it is destroyed as usual. A
+ * pooled cache is reset with {@link Cache#clear()} and by clearing its statistics,
+ * and when it is reused the reset is asserted: it must be empty, have no listeners
+ * and report no statistics. Pooled caches are destroyed when a test takes a cache
+ * of another name or configuration from the pool, and by {@link #drain()} once a
+ * test class has finished.
+ * </p>
+ */
+public final class CacheFixturePool {
+
+  /**
+   * name of system property to enable reusing caches between tests, if set to true
+   */
+  public static final String REUSE_PROPERTY = "org.jsr107.tck.fixture.reuse";
+
+  private static final String[] STATISTICS = {
+      "CacheHits", "CacheMisses", "CacheGets", "CachePuts", "CacheRemovals", "CacheEvictions"};
+
+  private static final Map<String, Cache<?, ?>> POOL = new HashMap<String, Cache<?, ?>>();
+
+  private CacheFixturePool() {
+    //utility class
+  }
+
+  /**
+   * @return true if caches are to be reused between tests
+   */
+  public static boolean isEnabled() {
+    return Boolean.getBoolean(REUSE_PROPERTY);
+  }
+
+  /**
+   * Takes a pooled cache created earlier with the same name and configuration,
+   * destroying all other pooled caches, so that the name is free to be created with
+   * another configuration and the caches of earlier test classes do not accumulate.
+   *
+   * @param cacheManager  the {@link CacheManager} of the test
+   * @param cacheName     the name of the cache of the test
+   * @param configuration the configuration the test requires
+   * @return the reset cache, or null if there is none to reuse
+   */
+  @SuppressWarnings("unchecked")
+  public static synchronized <K, V> Cache<K, V> take(CacheManager cacheManager, String cacheName,
+                                                      MutableConfiguration<K, V> configuration) {
+    String key = cacheName + "|" + shapeOf(cacheManager, configuration);
+    for (Iterator<Map.Entry<String, Cache<?, ?>>> iterator = POOL.entrySet().iterator(); iterator.hasNext(); ) {
+      Map.Entry<String, Cache<?, ?>> entry = iterator.next();
+      if (!entry.getKey().equals(key)) {
+        Cache<?, ?> pooled = entry.getValue();
+        if (!pooled.isClosed()) {
+          pooled.getCacheManager().destroyCache(pooled.getName());
+        }
+        iterator.remove();
+      }
+    }
+
+    Cache<K, V> cache = (Cache<K, V>) POOL.remove(key);
+    if (cache == null || cache.isClosed()) {
+      return null;
+    }
+    if (!isReusable(configuration)) {
+      cacheManager.destroyCache(cacheName);
+      return null;
+    }
+    assertReset(cache);
+    return cache;
+  }
+
+  /**
+   * Offers the cache of a finished test to the pool.
+   *
+   * @param cacheManager  the {@link CacheManager} of the test
+   * @param cacheName     the name of the cache of the test
+   * @param cache         the cache of the test
+   * @param configuration the configuration the cache was created with
+   * @return true if the cache was reset and pooled, false if it must be destroyed
+   */
+  public static synchronized <K, V> boolean offer(CacheManager cacheManager, String cacheName, Cache<K, V> cache,
+                                                  MutableConfiguration<K, V> configuration) {
+    if (cache == null || cache.isClosed() || !cache.getName().equals(cacheName)
+        || cache.getCacheManager() != cacheManager || !isReusable(configuration)
+        || isChanged(cache, configuration)) {
+      return false;
+    }
+    try {
+      cache.clear();
+      if (configuration.isStatisticsEnabled()) {
+        TestSupport.resolveMBeanServer().invoke(
+            TestSupport.calculateObjectName(cache, TestSupport.MBeanType.CacheStatistics), "clear", null, null);
+      }
+    } catch (Exception e) {
+      return false;
+    }
+    POOL.put(cacheName + "|" + shapeOf(cacheManager, configuration), cache);
+    return true;
+  }
+
+  /**
+   * Destroys all pooled caches, so that none outlive the test class that pooled them.
+   */
+  public static synchronized void drain() {
+    for (Cache<?, ?> pooled : POOL.values()) {
+      if (!pooled.isClosed()) {
+        pooled.getCacheManager().destroyCache(pooled.getName());
+      }
+    }
+    POOL.clear();
+  }
+
+  /**
+   * Only caches without per-test collaborators can be shared between tests.
+   */
+  private static boolean isReusable(MutableConfiguration<?, ?> configuration) {
+    return configuration != null
+        && !configuration.getCacheEntryListenerConfigurations().iterator().hasNext()
+        && configuration.getCacheLoaderFactory() == null
+        && configuration.getCacheWriterFactory() == null
+        && isEternal(configuration.getExpiryPolicyFactory());
+  }
+
+  private static boolean isEternal(Factory<?> expiryPolicyFactory) {
+    return (expiryPolicyFactory instanceof FactoryBuilder.SingletonFactory
+        || expiryPolicyFactory instanceof FactoryBuilder.ClassFactory)
+        && expiryPolicyFactory.create() instanceof EternalExpiryPolicy;
+  }
+
+  /**
+   * Determines if a test registered listeners or changed management or statistics.
+   */
+  private static boolean isChanged(Cache<?, ?> cache, MutableConfiguration<?, ?> configuration) {
+    CompleteConfiguration<?, ?> current = cache.getConfiguration(CompleteConfiguration.class);
+    return current.getCacheEntryListenerConfigurations().iterator().hasNext()
+        || current.isStatisticsEnabled() != configuration.isStatisticsEnabled()
+        || current.isManagementEnabled() != configuration.isManagementEnabled();
+  }
+
+  private static String shapeOf(CacheManager cacheManager, MutableConfiguration<?, ?> configuration) {
+    return cacheManager.getURI() + "|" + configuration.getKeyType().getName() + "|"
+        + configuration.getValueType().getName() + "|" + configuration.isStoreByValue() + "|"
+        + configuration.isReadThrough() + "|" + configuration.isWriteThrough() + "|"
+        + configuration.isStatisticsEnabled() + "|" + configuration.isManagementEnabled();
+  }
+
+  private static void assertReset(final Cache<?, ?> cache) {
+    assertFalse("a reused cache must be empty", cache.iterator().hasNext());
+    CompleteConfiguration<?, ?> configuration = cache.getConfiguration(CompleteConfiguration.class);
+    assertFalse("a reused cache must have no listeners",
+        configuration.getCacheEntryListenerConfigurations().iterator().hasNext());
+    assertEquals("a reused cache must have no loader", null, configuration.getCacheLoaderFactory());
+    if (configuration.isStatisticsEnabled()) {
+      assertEventually(new AssertionUtil.AssertionRunnable() {
+        @Override
+        public void run() throws Exception {
+          Map<String, Object> statistics =
+              TestSupport.lookupManagementAttributes(cache, TestSupport.MBeanType.CacheStatistics, STATISTICS);
+          for (String statistic : STATISTICS) {
+            assertEquals("a reused cache must have cleared " + statistic, 0L, statistics.get(statistic));
+          }
+        }
+      }, Integer.getInteger(TestSupport.STATISTICS_UPDATE_TIMEOUT_PROPERTY, 5));
+    }
+  }
+}
@@ -6,7 +6,10 @@
  */
 package org.jsr107.tck.testutil;
 
+import org.jsr107.tck.support.ChangeSignal;
+import org.jsr107.tck.support.FlightRecorderEvents;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Before;
 
 import javax.cache.Cache;
@@ -46,14 +49,55 @@ public abstract class CacheTestSupport<K, V> extends TestSupport {
   protected MutableCacheEntryListenerConfiguration<K, V> listenerConfiguration;
 
 
+  // the configuration the cache was created with, kept when caches are reused between tests
+  private MutableConfiguration<K, V> fixtureConfiguration;
+
   @Before
   public void setUp() throws IOException  {
-    cache = getCacheManager().createCache(getTestCacheName(), extraSetup(newMutableConfiguration()));
+    FlightRecorderEvents.Event event = FlightRecorderEvents.TEST_FIXTURE.begin();
+    try {
+      MutableConfiguration<K, V> configuration = extraSetup(newMutableConfiguration());
+      if (CacheFixturePool.isEnabled()) {
+        fixtureConfiguration = configuration;
+        cache = CacheFixturePool.take(getCacheManager(), getTestCacheName(), configuration);
+        if (cache != null) {
+          return;
+        }
+      }
+      cache = getCacheManager().createCache(getTestCacheName(), configuration);
+    } finally {
+      commitFixtureEvent(event, "setUp");
+    }
   }
 
   @After
   public void teardown() {
-    getCacheManager().destroyCache(getTestCacheName());
+    FlightRecorderEvents.Event event = FlightRecorderEvents.TEST_FIXTURE.begin();
+    try {
+      if (CacheFixturePool.isEnabled()
+          && CacheFixturePool.offer(getCacheManager(), getTestCacheName(), cache, fixtureConfiguration)) {
+        return;
+      }
+      getCacheManager().destroyCache(getTestCacheName());
+    } finally {
+      commitFixtureEvent(event, "teardown");
+    }
+  }
+
+  /**
+   * Destroys the caches pooled by the tests of the class, when caches are reused.
+   */
+  @AfterClass
+  public static void drainCacheFixturePool() {
+    if (CacheFixturePool.isEnabled()) {
+      CacheFixturePool.drain();
+    }
+  }
+
+  private void commitFixtureEvent(FlightRecorderEvents.Event event, String phase) {
+    if (FlightRecorderEvents.isEnabled()) {
+      event.set("test", getClass().getName()).set("phase", phase).set("cacheName", getTestCacheName()).commit();
+    }
   }
 
   /**
@@ -114,9 +158,13 @@ public abstract class CacheTestSupport<K, V> extends TestSupport {
     AtomicInteger created = new AtomicInteger();
     AtomicInteger updated = new AtomicInteger();
     AtomicInteger removed = new AtomicInteger();
+    AtomicInteger expired = new AtomicInteger();
 
     ArrayList<CacheEntryEvent<K, V>> entries = new ArrayList<CacheEntryEvent<K, V>>();
 
+    // signalled after every event this listener has processed
+    final ChangeSignal changeSignal = new ChangeSignal();
+
     public MyCacheEntryListener() {
       this(false);
     }
@@ -141,10 +189,24 @@ public abstract class CacheTestSupport<K, V> extends TestSupport {
       return removed.get();
     }
 
+    /**
+     * Obtains the number of expired events seen so far. Expiry events may be delivered
+     * asynchronously, so wait for them with the {@link #getChangeSignal()}.
+     *
+     * @return the number of expired events
+     */
+    public int getExpired() {
+      return expired.get();
+    }
+
     public ArrayList<CacheEntryEvent<K, V>> getEntries() {
       return entries;
     }
 
+    public ChangeSignal getChangeSignal() {
+      return changeSignal;
+    }
+
     @Override
     public void onCreated(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) throws CacheEntryListenerException {
       for (CacheEntryEvent<? extends K, ? extends V> event : events) {
@@ -157,16 +219,18 @@ public abstract class CacheTestSupport<K, V> extends TestSupport {
         event.getValue();
         event.getSource();
       }
+      changeSignal.signal();
     }
 
     @Override
     public void onExpired(Iterable<CacheEntryEvent<? extends K, ? extends V>> events) throws CacheEntryListenerException {
-      //We don't count expiry events as they can occur asynchronously but we can test for some other conditions.
+      //Expiry events can occur asynchronously, so they are counted but only awaited with the change signal.
       for (CacheEntryEvent<? extends K, ? extends V> event : events) {
         assertEquals(EXPIRED, event.getEventType());
+        expired.incrementAndGet();
         assertOldValueForExpiredRemovedListener(event);
       }
-
+      changeSignal.signal();
     }
 
     @Override
@@ -177,6 +241,7 @@ public abstract class CacheTestSupport<K, V> extends TestSupport {
         event.getKey();
         assertOldValueForExpiredRemovedListener(event);
       }
+      changeSignal.signal();
     }
 
     @Override
@@ -191,6 +256,7 @@ public abstract class CacheTestSupport<K, V> extends TestSupport {
           assertNotNull(event.getOldValue());
         }
       }
+      changeSignal.signal();
     }
 
     @Override
@@ -0,0 +1,65 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.testutil;
+
+import org.jsr107.tck.support.FlightRecorderEvents;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+
+/**
+ * An opt-in JUnit {@link RunListener} that records each test as a
+ * {@link FlightRecorderEvents#TEST} event, with its outcome and the bytes allocated
+ * by the thread running it.
+ * <p>
+ * Together with the events emitted by the {@link org.jsr107.tck.support.Client}s,
+ * {@link org.jsr107.tck.support.Server}s and {@link CacheTestSupport}, a recording
+ * shows how the time of each test divides among the implementation, the TCK
+ * customizations and the test fixture. Record the tests from the implementation-tester
+ * with:
+ * </p>
+ * mvn -P flight-recording clean install
+ */
+public class FlightRecorderListener extends RunListener {
+
+  // the event and allocation of the test running on each thread
+  private final ThreadLocal<FlightRecorderEvents.Event> event = new ThreadLocal<FlightRecorderEvents.Event>();
+  private final ThreadLocal<Long> allocatedAtStart = new ThreadLocal<Long>();
+  private final ThreadLocal<String> outcome = new ThreadLocal<String>();
+
+  @Override
+  public void testStarted(Description description) {
+    outcome.set("passed");
+    allocatedAtStart.set(ThreadMetrics.currentThreadAllocatedBytes());
+    event.set(FlightRecorderEvents.TEST.begin());
+  }
+
+  @Override
+  public void testFailure(Failure failure) {
+    outcome.set("failed");
+  }
+
+  @Override
+  public void testAssumptionFailure(Failure failure) {
+    outcome.set("skipped");
+  }
+
+  @Override
+  public void testFinished(Description description) {
+    FlightRecorderEvents.Event testEvent = event.get();
+    if (testEvent != null) {
+      long allocatedAtEnd = ThreadMetrics.currentThreadAllocatedBytes();
+      testEvent.set("test", description.getClassName() + "#" + description.getMethodName())
+          .set("outcome", outcome.get())
+          .set("allocatedBytes", allocatedAtEnd < 0 ? -1 : allocatedAtEnd - allocatedAtStart.get())
+          .commit();
+      event.remove();
+      allocatedAtStart.remove();
+      outcome.remove();
+    }
+  }
+}
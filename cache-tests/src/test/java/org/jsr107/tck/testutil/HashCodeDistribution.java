@@ -0,0 +1,54 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.testutil;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Reports how well the hash codes of keys spread over a hash table.
+ */
+public final class HashCodeDistribution {
+
+  private static final Logger LOG = Logger.getLogger(HashCodeDistribution.class.getName());
+
+  private HashCodeDistribution() {
+    //utility class
+  }
+
+  /**
+   * Logs the share of distinct hash codes and the load of the fullest bucket of a
+   * power of two sized table indexed the way {@link HashMap} spreads hash codes.
+   *
+   * @param name the name of the keys in the report
+   * @param keys the keys
+   * @return the share of distinct hash codes
+   */
+  public static double report(String name, Collection<?> keys) {
+    Set<Integer> hashCodes = new HashSet<Integer>();
+    int buckets = Integer.highestOneBit(keys.size() - 1) << 1;
+    Map<Integer, Integer> loads = new HashMap<Integer, Integer>();
+    int maxLoad = 0;
+    for (Object key : keys) {
+      int h = key.hashCode();
+      hashCodes.add(h);
+      int bucket = (h ^ (h >>> 16)) & (buckets - 1);
+      Integer load = loads.get(bucket);
+      int newLoad = load == null ? 1 : load + 1;
+      loads.put(bucket, newLoad);
+      maxLoad = Math.max(maxLoad, newLoad);
+    }
+    double distinct = hashCodes.size() / (double) keys.size();
+    LOG.info(String.format("%s: %d keys, %.2f%% distinct hash codes, %d of %d buckets used, max bucket load %d",
+        name, keys.size(), 100 * distinct, loads.size(), buckets, maxLoad));
+    return distinct;
+  }
+}
@@ -6,19 +6,28 @@
  */
 package org.jsr107.tck.testutil;
 
+import org.jsr107.tck.support.Worker;
+
 import javax.cache.Cache;
 import javax.cache.CacheException;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 /**
  * Unit test support base class
@@ -34,6 +43,34 @@ public class TestSupport {
    */
   protected static final Logger LOG = Logger.getLogger(TestSupport.class.getName());
 
+  /**
+   * name of system property to obtain statistics update timeout in seconds, if set
+   */
+  public static final String STATISTICS_UPDATE_TIMEOUT_PROPERTY = "org.jsr107.tck.management.statistics.timeout.seconds";
+
+  /**
+   * The attributes of the {@link MBeanType#CacheStatistics} MBean.
+   */
+  public static final String[] CACHE_STATISTICS_ATTRIBUTES = {
+      "CacheHits", "CacheHitPercentage", "CacheMisses", "CacheMissPercentage", "CacheGets", "CachePuts",
+      "CacheRemovals", "CacheEvictions", "AverageGetTime", "AveragePutTime", "AverageRemoveTime"};
+
+  private static final Pattern MBEAN_UNSAFE = Pattern.compile(":|=|\n|,");
+
+  /**
+   * The number of object names remembered by {@link #calculateObjectName(Cache, MBeanType)}.
+   */
+  private static final int OBJECT_NAMES_CAPACITY = 256;
+
+  // the object names most recently calculated, by type, CacheManager URI and cache name
+  private static final Map<List<Object>, ObjectName> OBJECT_NAMES = Collections.synchronizedMap(
+      new LinkedHashMap<List<Object>, ObjectName>(OBJECT_NAMES_CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, ObjectName> eldest) {
+          return size() > OBJECT_NAMES_CAPACITY;
+        }
+      });
+
   private final Map<Class<?>, Class<?>> unwrapClasses = Collections.synchronizedMap(new HashMap<Class<?>, Class<?>>());
   private Properties unwrapProperties;
 
@@ -51,19 +88,76 @@ public class TestSupport {
     return attribute;
   }
 
+  /**
+   * Looks up the given attributes of the given cache with a single call to the {@link MBeanServer}.
+   * <p>
+   * The attributes are still read one after the other, so values that change concurrently
+   * may not be consistent with each other.
+   *
+   * @return the values of the attributes by name, in the order they were given
+   * @throws javax.management.AttributeNotFoundException if an attribute could not be read
+   */
+  public static Map<String, Object> lookupManagementAttributes(Cache cache, MBeanType type, String... attributeNames)
+      throws Exception {
+    return lookupManagementAttributes(calculateObjectName(cache, type), attributeNames);
+  }
+
+  /**
+   * Looks up the given attributes of the named MBean with a single call to the {@link MBeanServer}.
+   *
+   * @return the values of the attributes by name, in the order they were given
+   * @throws javax.management.AttributeNotFoundException if an attribute could not be read
+   */
+  public static Map<String, Object> lookupManagementAttributes(ObjectName objectName, String... attributeNames)
+      throws Exception {
+    MBeanServer mBeanServer = TestSupport.resolveMBeanServer();
+
+    AttributeList attributes = mBeanServer.getAttributes(objectName, attributeNames);
+    Map<String, Object> values = new LinkedHashMap<String, Object>();
+    for (Attribute attribute : attributes.asList()) {
+      values.put(attribute.getName(), attribute.getValue());
+    }
+    for (String attributeName : attributeNames) {
+      if (!values.containsKey(attributeName)) {
+        //getAttributes omits attributes it failed to read, so read it again for the reason
+        values.put(attributeName, mBeanServer.getAttribute(objectName, attributeName));
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Looks up all the statistics of the given cache with a single call to the {@link MBeanServer}.
+   *
+   * @return the values of the {@link #CACHE_STATISTICS_ATTRIBUTES} by name
+   */
+  public static Map<String, Object> lookupStatistics(Cache cache) throws Exception {
+    return lookupManagementAttributes(cache, MBeanType.CacheStatistics, CACHE_STATISTICS_ATTRIBUTES);
+  }
+
   /**
    * Creates an object name using the scheme
    * "javax.cache:type=Cache&lt;Statistics|Configuration&gt;,CacheManager=&lt;cacheManagerName&gt;,name=&lt;cacheName&gt;"
+   * <p>
+   * The object names of the most recently used caches are remembered, so that tests reading
+   * management attributes repeatedly create them once. The number remembered is bounded, so
+   * that tests creating many caches do not accumulate them.
    */
   public static ObjectName calculateObjectName(Cache cache, MBeanType type) {
-    try {
-      ObjectName name = new ObjectName("javax.cache:type=" + type + "," +
-          "CacheManager=" + mbeanSafe(cache.getCacheManager().getURI().toString()) +
-          ",Cache=" + mbeanSafe(cache.getName()));
-      return name;
-    } catch (MalformedObjectNameException e) {
-      throw new CacheException(e);
+    String uri = cache.getCacheManager().getURI().toString();
+    List<Object> key = Arrays.<Object>asList(type, uri, cache.getName());
+    ObjectName name = OBJECT_NAMES.get(key);
+    if (name == null) {
+      try {
+        name = new ObjectName("javax.cache:type=" + type + "," +
+            "CacheManager=" + mbeanSafe(uri) +
+            ",Cache=" + mbeanSafe(cache.getName()));
+      } catch (MalformedObjectNameException e) {
+        throw new CacheException(e);
+      }
+      OBJECT_NAMES.put(key, name);
     }
+    return name;
   }
 
   /**
@@ -73,7 +167,7 @@ public class TestSupport {
    * @return A valid JMX ObjectName attribute value.
    */
   public static String mbeanSafe(String string) {
-    return string == null ? "" : string.replaceAll(":|=|\n|,", ".");
+    return string == null ? "" : MBEAN_UNSAFE.matcher(string).replaceAll(".");
   }
 
   /**
@@ -83,12 +177,23 @@ public class TestSupport {
     return ManagementFactory.getPlatformMBeanServer();
   }
 
+  /**
+   * Obtains the {@link CacheManager} for the tests, which is the default one unless
+   * the TCK is run by parallel workers given a URI each with {@link Worker#URI_PROPERTY}.
+   *
+   * @return the {@link CacheManager}
+   * @see Worker
+   */
   protected CacheManager getCacheManager() {
-    return Caching.getCachingProvider().getCacheManager();
+    CachingProvider provider = Caching.getCachingProvider();
+    if (Worker.isParallel()) {
+      return provider.getCacheManager(Worker.uniqueURI(provider.getDefaultURI()), provider.getDefaultClassLoader());
+    }
+    return provider.getCacheManager();
   }
 
   protected String getTestCacheName() {
-    return getClass().getName();
+    return Worker.uniqueName(getClass().getName());
   }
 
   protected Class<?> getUnwrapClass(Class<?> unwrappableClass) {
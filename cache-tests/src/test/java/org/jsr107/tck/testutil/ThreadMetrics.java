@@ -0,0 +1,66 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.testutil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Per-thread resource counters used by the performance tests and test listeners.
+ * <p>
+ * Allocation counting relies on {@code com.sun.management.ThreadMXBean}, which
+ * is available on HotSpot based JVMs. On other JVMs, or when the feature has
+ * been disabled, {@link #currentThreadAllocatedBytes()} returns -1.
+ * </p>
+ */
+public final class ThreadMetrics {
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private ThreadMetrics() {
+    //utility class
+  }
+
+  /**
+   * Determines if the JVM can report the bytes allocated by a thread.
+   *
+   * @return true if allocation counting is available
+   */
+  public static boolean isAllocationCountingSupported() {
+    if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+      return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+    }
+    return false;
+  }
+
+  /**
+   * Obtains the total number of bytes allocated so far by the calling thread.
+   *
+   * @return the allocated bytes, or -1 if not supported by the JVM
+   */
+  public static long currentThreadAllocatedBytes() {
+    if (isAllocationCountingSupported()) {
+      return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+  /**
+   * Obtains the total number of bytes allocated so far by each of the specified threads.
+   *
+   * @param threadIds the ids of the threads
+   * @return the allocated bytes by thread, -1 for a thread that is no longer alive,
+   *         or null if not supported by the JVM
+   */
+  public static long[] threadAllocatedBytes(long[] threadIds) {
+    if (isAllocationCountingSupported()) {
+      return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(threadIds);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,219 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.testutil;
+
+import org.jsr107.tck.support.Client;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.RunListener;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An opt-in JUnit {@link RunListener} that records how long each test takes and
+ * compares the timings with those of a previous run.
+ * <p>
+ * For each test it records the wall clock time, the CPU time of the thread running
+ * the test and the time that thread spent blocked in {@link Client#invoke}, that is
+ * waiting for the TCK {@link org.jsr107.tck.support.Server}s serving loaders,
+ * writers, listeners and expiry policies. Invocations made by other threads, such as
+ * those of the implementation or of other tests running in parallel, are not
+ * attributed to the test.
+ * </p>
+ * <p>
+ * The timings are written as CSV to the file named by {@link #REPORT_PROPERTY}. When
+ * {@link #BASELINE_PROPERTY} names the report of a previous run, a test is flagged as
+ * a regression when its wall clock, CPU or RPC time grew by more than
+ * {@link #THRESHOLD_PERCENT_PROPERTY} percent and by more than
+ * {@link #THRESHOLD_MILLIS_PROPERTY} milliseconds; regressions are logged and marked
+ * in the report. Enable the listener from the implementation-tester with:
+ * </p>
+ * mvn -P timing-report clean install -Dorg.jsr107.tck.timing.baseline=previous-tck-timing.csv
+ */
+public class TimingReportListener extends RunListener {
+
+  /**
+   * name of system property to obtain the file to write the report to, if set
+   */
+  public static final String REPORT_PROPERTY = "org.jsr107.tck.timing.report";
+
+  /**
+   * name of system property to obtain the report of a previous run to compare with, if set
+   */
+  public static final String BASELINE_PROPERTY = "org.jsr107.tck.timing.baseline";
+
+  /**
+   * name of system property to obtain the relative slowdown flagged as a regression, if set
+   */
+  public static final String THRESHOLD_PERCENT_PROPERTY = "org.jsr107.tck.timing.threshold.percent";
+
+  /**
+   * name of system property to obtain the absolute slowdown below which no regression is flagged, if set
+   */
+  public static final String THRESHOLD_MILLIS_PROPERTY = "org.jsr107.tck.timing.threshold.millis";
+
+  private static final String DEFAULT_REPORT = "target/tck-timing.csv";
+
+  private static final int DEFAULT_THRESHOLD_PERCENT = 50;
+
+  private static final int DEFAULT_THRESHOLD_MILLIS = 20;
+
+  private static final String HEADER = "test,wall_millis,cpu_millis,rpc_millis,regression";
+
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private static final Logger LOG = Logger.getLogger(TimingReportListener.class.getName());
+
+  private final List<Timing> timings = Collections.synchronizedList(new ArrayList<Timing>());
+
+  // the timing of the test running on each thread
+  private final ThreadLocal<Timing> current = new ThreadLocal<Timing>();
+
+  @Override
+  public void testStarted(Description description) {
+    Timing timing = new Timing(description.getClassName() + "#" + description.getMethodName());
+    current.set(timing);
+    timing.rpcNanos = Client.getThreadInvocationNanos();
+    timing.cpuNanos = currentThreadCpuTime();
+    timing.wallNanos = System.nanoTime();
+  }
+
+  @Override
+  public void testFinished(Description description) {
+    Timing timing = current.get();
+    if (timing != null) {
+      timing.wallNanos = System.nanoTime() - timing.wallNanos;
+      timing.cpuNanos = timing.cpuNanos < 0 ? -1 : currentThreadCpuTime() - timing.cpuNanos;
+      timing.rpcNanos = Client.getThreadInvocationNanos() - timing.rpcNanos;
+      timings.add(timing);
+      current.remove();
+    }
+  }
+
+  @Override
+  public void testRunFinished(Result result) throws IOException {
+    String baselineName = System.getProperty(BASELINE_PROPERTY);
+    int regressions = 0;
+    if (baselineName != null) {
+      Map<String, double[]> baseline = readBaseline(new File(baselineName));
+      int thresholdPercent = Integer.getInteger(THRESHOLD_PERCENT_PROPERTY, DEFAULT_THRESHOLD_PERCENT);
+      int thresholdMillis = Integer.getInteger(THRESHOLD_MILLIS_PROPERTY, DEFAULT_THRESHOLD_MILLIS);
+      for (Timing timing : timings) {
+        double[] previous = baseline.get(timing.name);
+        if (previous != null) {
+          timing.compare(previous, thresholdPercent, thresholdMillis);
+          if (timing.regression.length() > 0) {
+            regressions++;
+            LOG.warning(timing.name + " slowed down: " + timing.regression);
+          }
+        }
+      }
+      LOG.log(Level.INFO, "{0} of {1} tests slowed down compared with {2}",
+          new Object[] {regressions, timings.size(), baselineName});
+    }
+
+    File report = new File(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+    if (report.getAbsoluteFile().getParentFile() != null) {
+      report.getAbsoluteFile().getParentFile().mkdirs();
+    }
+    PrintWriter writer = new PrintWriter(new FileWriter(report));
+    try {
+      writer.println(HEADER);
+      for (Timing timing : timings) {
+        writer.println(String.format(Locale.ROOT, "%s,%.3f,%.3f,%.3f,%s", timing.name, toMillis(timing.wallNanos),
+            toMillis(timing.cpuNanos), toMillis(timing.rpcNanos), timing.regression));
+      }
+    } finally {
+      writer.close();
+    }
+    LOG.log(Level.INFO, "Wrote timing report of {0} tests to {1}", new Object[] {timings.size(), report});
+  }
+
+  /**
+   * Reads a report written by a previous run.
+   *
+   * @return the wall clock, CPU and RPC milliseconds by test
+   */
+  private static Map<String, double[]> readBaseline(File file) throws IOException {
+    Map<String, double[]> baseline = new HashMap<String, double[]>();
+    BufferedReader reader = new BufferedReader(new FileReader(file));
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] columns = line.split(",", -1);
+        if (line.equals(HEADER) || columns.length < 4) {
+          continue;
+        }
+        baseline.put(columns[0], new double[] {
+            Double.parseDouble(columns[1]), Double.parseDouble(columns[2]), Double.parseDouble(columns[3])});
+      }
+    } finally {
+      reader.close();
+    }
+    return baseline;
+  }
+
+  private static long currentThreadCpuTime() {
+    return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos < 0 ? -1 : nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /**
+   * The timings of a single test.
+   */
+  private static class Timing {
+
+    private final String name;
+    private long wallNanos;
+    private long cpuNanos;
+    private long rpcNanos;
+    private String regression = "";
+
+    Timing(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Flags the times that grew beyond both thresholds.
+     */
+    void compare(double[] previous, int thresholdPercent, int thresholdMillis) {
+      StringBuilder builder = new StringBuilder();
+      String[] metrics = {"wall", "cpu", "rpc"};
+      double[] now = {toMillis(wallNanos), toMillis(cpuNanos), toMillis(rpcNanos)};
+      for (int i = 0; i < metrics.length; i++) {
+        if (now[i] < 0 || previous[i] < 0) {
+          continue;
+        }
+        double growth = now[i] - previous[i];
+        if (growth > thresholdMillis && growth > previous[i] * thresholdPercent / 100.0) {
+          builder.append(builder.length() == 0 ? "" : " ")
+              .append(String.format(Locale.ROOT, "%s %.1f->%.1fms", metrics[i], previous[i], now[i]));
+        }
+      }
+      regression = builder.toString();
+    }
+  }
+}
@@ -11,8 +11,12 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Provider;
+import manager.AsyncBlogManagerImpl;
 import manager.CacheNameOnEachMethodBlogManagerImpl;
 import manager.ClassLevelCacheConfigBlogManagerImpl;
+import manager.CompletedFutureBlogManagerImpl;
+import manager.InstrumentedBlogManagerImpl;
+import manager.KeyGeneratingBlogManagerImpl;
 import manager.UsingDefaultCacheNameBlogManagerImpl;
 import org.jsr107.ri.annotations.guice.module.CacheAnnotationsModule;
 
@@ -41,6 +45,10 @@ public class GuiceBeanProvider implements BeanProvider {
         bind(CacheNameOnEachMethodBlogManagerImpl.class);
         bind(ClassLevelCacheConfigBlogManagerImpl.class);
         bind(UsingDefaultCacheNameBlogManagerImpl.class);
+        bind(InstrumentedBlogManagerImpl.class);
+        bind(KeyGeneratingBlogManagerImpl.class);
+        bind(AsyncBlogManagerImpl.class);
+        bind(CompletedFutureBlogManagerImpl.class);
         bind(CacheManager.class).toProvider(new Provider<CacheManager>() {
 
           @Override
@@ -0,0 +1,166 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import domain.Blog;
+import manager.BlogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.cache.annotation.BeanProvider;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the annotation interceptors of a dependency injection container add to
+ * a call of a {@link BlogManager}.
+ * <p>
+ * The {@link BlogManager} beans are obtained from the {@link BeanProvider} of the
+ * annotations test harness on the classpath, the same way the annotation tests of the
+ * TCK obtain them, so the Spring, Guice and CDI harnesses are compared by building the
+ * benchmarks with the corresponding profile. {@link #raw} calls the un-annotated
+ * {@link BlogManager#getEntryRaw(String)} through the same proxy and is the baseline
+ * the other benchmarks are compared with:
+ * </p>
+ * <ul>
+ * <li>{@link #cachedHit} is the cost of intercepting a {@code @CacheResult} method
+ * whose result is cached</li>
+ * <li>{@link #cachedHitWithCacheKeyParameter} additionally has the key generated from
+ * the {@code @CacheKey} parameter of three; the difference with {@link #cachedHit} is
+ * the cost of selecting key parameters</li>
+ * <li>{@link #cachedMiss} removes the entry with {@code @CacheRemove} before calling
+ * the {@code @CacheResult} method, so the method body runs and its result is put;
+ * subtracting {@link #remove} gives the cost of a miss</li>
+ * </ul>
+ * Run with {@code -prof gc} to report the bytes allocated per call, most of which are
+ * the generated cache key and the invocation context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationInterceptionBenchmark {
+
+  /**
+   * A {@link BlogManager} bean with {@link #size} blogs, all of them cached.
+   */
+  @State(Scope.Benchmark)
+  public static class BlogManagerState {
+
+    /**
+     * The class name of the {@link BeanProvider} to use, or {@code auto} to discover
+     * it with the {@link ServiceLoader} as the TCK does.
+     */
+    @Param({"auto"})
+    public String beanProvider;
+
+    /**
+     * The simple name of the {@link BlogManager} implementation in the {@code manager} package.
+     */
+    @Param({"CacheNameOnEachMethodBlogManagerImpl", "ClassLevelCacheConfigBlogManagerImpl",
+        "UsingDefaultCacheNameBlogManagerImpl"})
+    public String blogManager;
+
+    /**
+     * The number of blogs.
+     */
+    @Param({"1000"})
+    public int size;
+
+    private BlogManager manager;
+    private String[] titles;
+
+    /**
+     * Obtains the bean, creates the blogs and caches every one of them.
+     */
+    @Setup(Level.Trial)
+    public void createBlogs() throws Exception {
+      manager = loadBeanProvider(beanProvider)
+          .getBeanByType(Class.forName("manager." + blogManager).asSubclass(BlogManager.class));
+      manager.clearCache();
+
+      titles = new String[size];
+      for (int i = 0; i < size; i++) {
+        titles[i] = "title " + i;
+        manager.createEntry(new Blog(titles[i], "body " + i));
+        manager.getEntryCached(titles[i]);
+      }
+    }
+
+    /**
+     * Empties the cache used by the bean.
+     */
+    @TearDown(Level.Trial)
+    public void clearCache() {
+      manager.clearCache();
+    }
+
+    public BlogManager getManager() {
+      return manager;
+    }
+
+    /**
+     * @return the title of a uniformly chosen blog
+     */
+    public String nextTitle() {
+      return titles[ThreadLocalRandom.current().nextInt(size)];
+    }
+  }
+
+  static BeanProvider loadBeanProvider(String className) throws Exception {
+    if (!"auto".equals(className)) {
+      return Class.forName(className).asSubclass(BeanProvider.class).newInstance();
+    }
+    Iterator<BeanProvider> providers = ServiceLoader.load(BeanProvider.class).iterator();
+    if (!providers.hasNext()) {
+      throw new IllegalStateException("No " + BeanProvider.class.getName() +
+          " found, build the benchmarks with one of the annotation harness profiles");
+    }
+    return providers.next();
+  }
+
+  @Benchmark
+  public Blog raw(BlogManagerState state) {
+    return state.getManager().getEntryRaw(state.nextTitle());
+  }
+
+  @Benchmark
+  public Blog cachedHit(BlogManagerState state) {
+    return state.getManager().getEntryCached(state.nextTitle());
+  }
+
+  @Benchmark
+  public Blog cachedHitWithCacheKeyParameter(BlogManagerState state) {
+    return state.getManager().getEntryCached("random", state.nextTitle(), "random");
+  }
+
+  @Benchmark
+  public Blog cachedMiss(BlogManagerState state) {
+    String title = state.nextTitle();
+    state.getManager().clearEntryFromCache(title);
+    return state.getManager().getEntryCached(title);
+  }
+
+  @Benchmark
+  public void remove(BlogManagerState state) {
+    state.getManager().clearEntryFromCache(state.nextTitle());
+  }
+}
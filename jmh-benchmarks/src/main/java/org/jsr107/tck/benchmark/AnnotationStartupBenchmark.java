@@ -0,0 +1,100 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import domain.Blog;
+import manager.BlogManager;
+import manager.CacheNameOnEachMethodBlogManagerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.annotation.BeanProvider;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the annotations test harness on the classpath takes to start in
+ * a fresh JVM.
+ * <p>
+ * Every measurement is a single call in a JVM of its own. The benchmarks are
+ * cumulative, each doing what the previous one did and more, so the difference
+ * between two of them is the cost of the added step:
+ * </p>
+ * <ol>
+ * <li>{@link #cacheManager} creates the default {@link CacheManager} without any container</li>
+ * <li>{@link #containerReady} additionally creates the {@link BeanProvider}, which for
+ * the Spring, Guice and CDI harnesses loads the application context, builds the injector
+ * or boots Weld respectively</li>
+ * <li>{@link #beanReady} additionally obtains an intercepted {@link BlogManager}</li>
+ * <li>{@link #firstHit} additionally calls a {@code @CacheResult} method twice, so that
+ * the cache is created by the interceptor and then hit</li>
+ * </ol>
+ * Run with {@code -prof cl} to also report the number of classes loaded by each.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class AnnotationStartupBenchmark {
+
+  /**
+   * The {@link BeanProvider} to start.
+   */
+  @State(Scope.Benchmark)
+  public static class HarnessState {
+
+    /**
+     * The class name of the {@link BeanProvider} to use, or {@code auto} to discover
+     * it as the TCK does.
+     */
+    @Param({"auto"})
+    public String beanProvider;
+  }
+
+  @Benchmark
+  public CacheManager cacheManager() {
+    return Caching.getCachingProvider().getCacheManager();
+  }
+
+  @Benchmark
+  public BeanProvider containerReady(HarnessState state) throws Exception {
+    return startContainer(state);
+  }
+
+  @Benchmark
+  public BlogManager beanReady(HarnessState state) throws Exception {
+    return startContainer(state).getBeanByType(CacheNameOnEachMethodBlogManagerImpl.class);
+  }
+
+  @Benchmark
+  public Blog firstHit(HarnessState state) throws Exception {
+    BlogManager blogManager = startContainer(state).getBeanByType(CacheNameOnEachMethodBlogManagerImpl.class);
+    blogManager.createEntry(new Blog("startup", "body"));
+    blogManager.getEntryCached("startup");
+    return blogManager.getEntryCached("startup");
+  }
+
+  /**
+   * Creates the default {@link CacheManager}, as {@link #cacheManager} does, and then the
+   * {@link BeanProvider}, so that the container is measured on top of the
+   * {@link CacheManager} even when it would only create one lazily.
+   */
+  private static BeanProvider startContainer(HarnessState state) throws Exception {
+    Caching.getCachingProvider().getCacheManager();
+    return AnnotationInterceptionBenchmark.loadBeanProvider(state.beanProvider);
+  }
+}
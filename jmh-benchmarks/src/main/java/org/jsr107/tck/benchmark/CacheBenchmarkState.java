@@ -0,0 +1,167 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A populated {@link Cache} shared by all benchmark threads.
+ * <p>
+ * The cache is created through the default {@link javax.cache.spi.CachingProvider}
+ * once per trial, filled with {@link #size} entries and destroyed at the end of the
+ * trial. Keys and values are created up front so that benchmark methods measure the
+ * cache rather than the creation of its arguments.
+ * </p>
+ * Subclasses may override {@link #newConfiguration()} to benchmark other configurations.
+ */
+@State(Scope.Benchmark)
+public class CacheBenchmarkState {
+
+  /**
+   * The number of precomputed batches used by bulk operations.
+   */
+  private static final int BATCHES = 64;
+
+  /**
+   * The type of the keys.
+   */
+  @Param({"LONG", "STRING", "IDENTIFIER"})
+  public KeyType keyType;
+
+  /**
+   * The type of the values.
+   */
+  @Param({"STRING", "BLOG", "BEAGLE"})
+  public ValueType valueType;
+
+  /**
+   * The number of entries the cache is populated with.
+   */
+  @Param({"10000"})
+  public int size;
+
+  /**
+   * The number of entries used by each bulk operation.
+   */
+  @Param({"10"})
+  public int batchSize;
+
+  private CacheManager cacheManager;
+  private Cache<Object, Object> cache;
+  private Object[] keys;
+  private Object[] values;
+  private List<Set<Object>> keyBatches;
+  private List<Map<Object, Object>> entryBatches;
+
+  /**
+   * Creates and populates the cache.
+   */
+  @Setup(Level.Trial)
+  public void createCache() {
+    keys = new Object[size];
+    values = new Object[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = keyType.createKey(i);
+      values[i] = valueType.createValue(i);
+    }
+
+    Random random = new Random(size);
+    keyBatches = new ArrayList<Set<Object>>(BATCHES);
+    entryBatches = new ArrayList<Map<Object, Object>>(BATCHES);
+    for (int b = 0; b < BATCHES; b++) {
+      Set<Object> keyBatch = new HashSet<Object>();
+      Map<Object, Object> entryBatch = new HashMap<Object, Object>();
+      while (keyBatch.size() < Math.min(batchSize, size)) {
+        int index = random.nextInt(size);
+        keyBatch.add(keys[index]);
+        entryBatch.put(keys[index], values[index]);
+      }
+      keyBatches.add(keyBatch);
+      entryBatches.add(entryBatch);
+    }
+
+    cacheManager = Caching.getCachingProvider().getCacheManager();
+    cache = cacheManager.createCache(getCacheName(), newConfiguration());
+    for (int i = 0; i < size; i++) {
+      cache.put(keys[i], values[i]);
+    }
+  }
+
+  /**
+   * Destroys the cache.
+   */
+  @TearDown(Level.Trial)
+  public void destroyCache() {
+    cacheManager.destroyCache(getCacheName());
+    cache = null;
+  }
+
+  /**
+   * @return the configuration of the benchmarked cache, store-by-value with defaults otherwise
+   */
+  protected MutableConfiguration<Object, Object> newConfiguration() {
+    return new MutableConfiguration<Object, Object>();
+  }
+
+  /**
+   * @return the name of the benchmarked cache
+   */
+  protected String getCacheName() {
+    return "benchmark." + getClass().getSimpleName();
+  }
+
+  public Cache<Object, Object> getCache() {
+    return cache;
+  }
+
+  /**
+   * @return a uniformly chosen index of an entry in the cache
+   */
+  public int nextIndex() {
+    return ThreadLocalRandom.current().nextInt(size);
+  }
+
+  public Object getKey(int index) {
+    return keys[index];
+  }
+
+  public Object getValue(int index) {
+    return values[index];
+  }
+
+  /**
+   * @return one of the precomputed sets of {@link #batchSize} keys
+   */
+  public Set<Object> nextKeyBatch() {
+    return keyBatches.get(ThreadLocalRandom.current().nextInt(BATCHES));
+  }
+
+  /**
+   * @return one of the precomputed maps of {@link #batchSize} entries
+   */
+  public Map<Object, Object> nextEntryBatch() {
+    return entryBatches.get(ThreadLocalRandom.current().nextInt(BATCHES));
+  }
+}
@@ -0,0 +1,237 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import domain.Blog;
+import domain.Identifier;
+import manager.FixedCacheKeyInvocationContext;
+import manager.KeyGeneratingBlogManagerImpl;
+import manager.PrimitiveCacheKeyGenerator;
+import manager.SingleValueCacheKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.cache.annotation.CacheKeyGenerator;
+import javax.cache.annotation.GeneratedCacheKey;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of building, hashing and comparing {@link GeneratedCacheKey}s.
+ * <p>
+ * The benchmarks on {@link GeneratorState} call the custom generators of the TCK
+ * directly, so they measure the generator and its keys alone. The benchmarks on
+ * {@link InterceptedState} call {@code @CacheResult} methods of a
+ * {@link KeyGeneratingBlogManagerImpl} obtained from the annotations test harness on the
+ * classpath, see {@link AnnotationInterceptionBenchmark}; every call is a hit, so the
+ * differences between them are the differences in generating and looking up the keys.
+ * </p>
+ * Run with {@code -prof gc} to compare the bytes allocated per key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyGeneratorBenchmark {
+
+  /**
+   * The number of distinct keys used.
+   */
+  private static final int KEYS = 1024;
+
+  /**
+   * The custom generators of the TCK.
+   */
+  public enum Generator {
+
+    /**
+     * The {@link SingleValueCacheKeyGenerator}, keyed by a title.
+     */
+    SINGLE_VALUE {
+      @Override
+      CacheKeyGenerator create() {
+        return new SingleValueCacheKeyGenerator();
+      }
+
+      @Override
+      Object keyParameter(int index) {
+        return "title " + index;
+      }
+    },
+
+    /**
+     * The {@link PrimitiveCacheKeyGenerator}, keyed by a number for which it does not allocate.
+     */
+    PRIMITIVE {
+      @Override
+      CacheKeyGenerator create() {
+        return new PrimitiveCacheKeyGenerator();
+      }
+
+      @Override
+      Object keyParameter(int index) {
+        return (long) index;
+      }
+    };
+
+    abstract CacheKeyGenerator create();
+
+    abstract Object keyParameter(int index);
+  }
+
+  /**
+   * A generator with precomputed invocation contexts and keys.
+   */
+  @State(Scope.Benchmark)
+  public static class GeneratorState {
+
+    /**
+     * The generator to benchmark.
+     */
+    @Param({"SINGLE_VALUE", "PRIMITIVE"})
+    public Generator generator;
+
+    private CacheKeyGenerator keyGenerator;
+    private FixedCacheKeyInvocationContext[] contexts;
+    private GeneratedCacheKey[] keys;
+    private GeneratedCacheKey[] equalKeys;
+
+    /**
+     * Creates the contexts and, twice, the keys.
+     */
+    @Setup(Level.Trial)
+    public void createKeys() {
+      keyGenerator = generator.create();
+      contexts = new FixedCacheKeyInvocationContext[KEYS];
+      keys = new GeneratedCacheKey[KEYS];
+      equalKeys = new GeneratedCacheKey[KEYS];
+      for (int i = 0; i < KEYS; i++) {
+        contexts[i] = new FixedCacheKeyInvocationContext("benchmark", generator.keyParameter(i));
+        keys[i] = keyGenerator.generateCacheKey(contexts[i]);
+        equalKeys[i] = keyGenerator.generateCacheKey(
+            new FixedCacheKeyInvocationContext("benchmark", generator.keyParameter(i)));
+      }
+    }
+  }
+
+  @Benchmark
+  public GeneratedCacheKey generate(GeneratorState state) {
+    return state.keyGenerator.generateCacheKey(state.contexts[nextIndex()]);
+  }
+
+  @Benchmark
+  public int keyHashCode(GeneratorState state) {
+    return state.keys[nextIndex()].hashCode();
+  }
+
+  /**
+   * Compares equal keys, which for preallocated primitive keys are the same instance.
+   */
+  @Benchmark
+  public boolean equalsEqual(GeneratorState state) {
+    int index = nextIndex();
+    return state.keys[index].equals(state.equalKeys[index]);
+  }
+
+  @Benchmark
+  public boolean equalsDifferent(GeneratorState state) {
+    int index = nextIndex();
+    return state.keys[index].equals(state.equalKeys[(index + 1) % KEYS]);
+  }
+
+  /**
+   * A {@link KeyGeneratingBlogManagerImpl} bean with every blog cached under every kind of key.
+   */
+  @State(Scope.Benchmark)
+  public static class InterceptedState {
+
+    /**
+     * The class name of the {@link javax.cache.annotation.BeanProvider} to use, or
+     * {@code auto} to discover it as the TCK does.
+     */
+    @Param({"auto"})
+    public String beanProvider;
+
+    private KeyGeneratingBlogManagerImpl manager;
+    private String[] titles;
+    private Identifier[] identifiers;
+
+    /**
+     * Obtains the bean, creates the blogs and caches every one of them.
+     */
+    @Setup(Level.Trial)
+    public void createBlogs() throws Exception {
+      manager = AnnotationInterceptionBenchmark.loadBeanProvider(beanProvider)
+          .getBeanByType(KeyGeneratingBlogManagerImpl.class);
+      manager.clearCache();
+
+      titles = new String[KEYS];
+      identifiers = new Identifier[KEYS];
+      for (int i = 0; i < KEYS; i++) {
+        titles[i] = "title " + i;
+        identifiers[i] = new Identifier("identifier " + i);
+        manager.createEntry(new Blog(titles[i], "body " + i));
+        manager.createEntry(new Blog(identifiers[i].toString(), "body " + i));
+        manager.createEntry(new Blog(KeyGeneratingBlogManagerImpl.titleOf(i), "body " + i));
+
+        manager.getEntryCached(titles[i]);
+        manager.getEntryCachedBySingleValue("random", titles[i], "random");
+        manager.getEntryCachedByNumber(i);
+        manager.getEntryCachedByIdentifier(identifiers[i]);
+      }
+    }
+
+    /**
+     * Empties the cache used by the bean.
+     */
+    @TearDown(Level.Trial)
+    public void clearCache() {
+      manager.clearCache();
+    }
+  }
+
+  @Benchmark
+  public Blog interceptedDefaultKey(InterceptedState state) {
+    return state.manager.getEntryCached(state.titles[nextIndex()]);
+  }
+
+  @Benchmark
+  public Blog interceptedDefaultKeyFromCacheKeyParameter(InterceptedState state) {
+    return state.manager.getEntryCached("random", state.titles[nextIndex()], "random");
+  }
+
+  @Benchmark
+  public Blog interceptedSingleValueKey(InterceptedState state) {
+    return state.manager.getEntryCachedBySingleValue("random", state.titles[nextIndex()], "random");
+  }
+
+  @Benchmark
+  public Blog interceptedPrimitiveKey(InterceptedState state) {
+    return state.manager.getEntryCachedByNumber(nextIndex());
+  }
+
+  @Benchmark
+  public Blog interceptedIdentifierKey(InterceptedState state) {
+    return state.manager.getEntryCachedByIdentifier(state.identifiers[nextIndex()]);
+  }
+
+  private static int nextIndex() {
+    return ThreadLocalRandom.current().nextInt(KEYS);
+  }
+}
@@ -0,0 +1,89 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import org.jsr107.tck.processor.GetEntryProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.cache.Cache;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the basic {@link Cache} operations against a populated cache.
+ * <p>
+ * Every operation leaves the population of the cache unchanged so that successive
+ * invocations measure the same thing: {@link #remove(CacheBenchmarkState)} puts the
+ * removed entry back and is therefore a remove plus a put.
+ * </p>
+ * Run with {@code -prof gc} to also report the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheOperationsBenchmark {
+
+  private static final GetEntryProcessor<Object, Object> GET_ENTRY_PROCESSOR = new GetEntryProcessor<Object, Object>();
+
+  @Benchmark
+  public Object get(CacheBenchmarkState state) {
+    return state.getCache().get(state.getKey(state.nextIndex()));
+  }
+
+  @Benchmark
+  public void put(CacheBenchmarkState state) {
+    int index = state.nextIndex();
+    state.getCache().put(state.getKey(index), state.getValue(index));
+  }
+
+  @Benchmark
+  public Map<Object, Object> getAll(CacheBenchmarkState state) {
+    return state.getCache().getAll(state.nextKeyBatch());
+  }
+
+  @Benchmark
+  public void putAll(CacheBenchmarkState state) {
+    state.getCache().putAll(state.nextEntryBatch());
+  }
+
+  @Benchmark
+  public boolean remove(CacheBenchmarkState state) {
+    int index = state.nextIndex();
+    Cache<Object, Object> cache = state.getCache();
+    boolean removed = cache.remove(state.getKey(index));
+    cache.put(state.getKey(index), state.getValue(index));
+    return removed;
+  }
+
+  @Benchmark
+  public boolean replace(CacheBenchmarkState state) {
+    int index = state.nextIndex();
+    return state.getCache().replace(state.getKey(index), state.getValue(index));
+  }
+
+  /**
+   * As every key is present this measures the path where the value is not put.
+   */
+  @Benchmark
+  public boolean putIfAbsent(CacheBenchmarkState state) {
+    int index = state.nextIndex();
+    return state.getCache().putIfAbsent(state.getKey(index), state.getValue(index));
+  }
+
+  @Benchmark
+  public Object invoke(CacheBenchmarkState state) {
+    return state.getCache().invoke(state.getKey(state.nextIndex()), GET_ENTRY_PROCESSOR);
+  }
+}
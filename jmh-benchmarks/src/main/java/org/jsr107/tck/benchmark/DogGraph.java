@@ -0,0 +1,90 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import domain.Beagle;
+import domain.Blog;
+import domain.BorderCollie;
+import domain.Dog;
+import domain.Identifier;
+import domain.Sex;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A serializable object graph of {@link Dog}s of tunable shape, used as a value to
+ * measure what copying values costs a store-by-value cache.
+ * <p>
+ * Every node holds an {@link Identifier}, a {@link domain.Hound} or {@link domain.Collie}
+ * and a {@link Blog} whose body carries the payload, and has {@code fanOut} pups down to
+ * the requested depth. Note that {@link Dog} itself is not serializable, so a copy only
+ * carries the fields of the serializable subclass.
+ * </p>
+ */
+public class DogGraph implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Identifier name;
+  private final Dog dog;
+  private final Blog pedigree;
+  private final DogGraph[] pups;
+
+  private DogGraph(Identifier name, Dog dog, Blog pedigree, DogGraph[] pups) {
+    this.name = name;
+    this.dog = dog;
+    this.pedigree = pedigree;
+    this.pups = pups;
+  }
+
+  /**
+   * Creates a graph.
+   *
+   * @param id           the identity of the root
+   * @param depth        the number of generations below the root
+   * @param fanOut       the number of pups of each dog
+   * @param payloadBytes the length of the pedigree of each dog
+   * @return the root of the graph
+   */
+  public static DogGraph create(String id, int depth, int fanOut, int payloadBytes) {
+    DogGraph[] pups = new DogGraph[depth > 0 ? fanOut : 0];
+    for (int i = 0; i < pups.length; i++) {
+      pups[i] = create(id + "." + i, depth - 1, fanOut, payloadBytes);
+    }
+
+    Identifier name = new Identifier(id);
+    Dog dog = depth % 2 == 0 ? new Beagle() : new BorderCollie();
+    dog.name(name).color("tricolour").weight(depth + 1).length(60).height(40).sex(Sex.MALE).neutered(true);
+    char[] payload = new char[payloadBytes];
+    Arrays.fill(payload, 'x');
+    return new DogGraph(name, dog, new Blog(id, new String(payload)), pups);
+  }
+
+  /**
+   * @return the number of dogs in this graph
+   */
+  public int size() {
+    int size = 1;
+    for (DogGraph pup : pups) {
+      size += pup.size();
+    }
+    return size;
+  }
+
+  public Identifier getName() {
+    return name;
+  }
+
+  public Dog getDog() {
+    return dog;
+  }
+
+  public Blog getPedigree() {
+    return pedigree;
+  }
+}
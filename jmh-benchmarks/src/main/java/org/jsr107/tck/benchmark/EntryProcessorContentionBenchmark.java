@@ -0,0 +1,227 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import org.jsr107.tck.processor.CombineEntryProcessor;
+import org.jsr107.tck.processor.GetEntryProcessor;
+import org.jsr107.tck.processor.MultiArgumentHandlingEntryProcessor;
+import org.jsr107.tck.processor.ReplaceEntryProcessor;
+import org.jsr107.tck.processor.SetEntryProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.EntryProcessorResult;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Cache#invoke} and {@link Cache#invokeAll} under contention, using
+ * the entry processors of the {@code org.jsr107.tck.processor} package and an
+ * {@link IncrementEntryProcessor} counter.
+ * <p>
+ * Keys are chosen uniformly, with a Zipfian distribution or always the same hot key.
+ * The throughput mode reports operations per second and the sample mode reports
+ * latency percentiles including p99. Contention is varied with the JMH thread count,
+ * for example {@code -t 1}, {@code -t 8} and {@code -t 64}, which shows whether an
+ * implementation serializes processors per key, per segment or per cache.
+ * </p>
+ * Every entry holds a counter that only the increment benchmarks change. After every
+ * iteration the counters are summed and compared with the number of increments the
+ * threads made; a difference means updates were lost and fails the benchmark.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryProcessorContentionBenchmark {
+
+  private static final Long INITIAL = 0L;
+
+  private static final EntryProcessor<Integer, Long, Long> GET = new GetEntryProcessor<Integer, Long>();
+
+  private static final EntryProcessor<Integer, Long, Long> SET = new SetEntryProcessor<Integer, Long>(INITIAL);
+
+  private static final EntryProcessor<Integer, Long, Long> REPLACE =
+      new ReplaceEntryProcessor<Integer, Long, Long>(INITIAL, INITIAL);
+
+  private static final EntryProcessor<Integer, Long, Long> MULTI_ARGUMENT =
+      new MultiArgumentHandlingEntryProcessor<Integer, Long, Long>(INITIAL);
+
+  @SuppressWarnings("unchecked")
+  private static final EntryProcessor<Integer, Long, Object[]> COMBINE =
+      new CombineEntryProcessor<Integer, Long>(new EntryProcessor[] {GET, SET});
+
+  private static final EntryProcessor<Integer, Long, Long> INCREMENT = new IncrementEntryProcessor<Integer>();
+
+  /**
+   * A cache of counters shared by all threads.
+   */
+  @State(Scope.Benchmark)
+  public static class CounterCacheState {
+
+    /**
+     * How keys are chosen.
+     */
+    @Param({"UNIFORM", "ZIPFIAN", "HOT_KEY"})
+    public KeyDistribution distribution;
+
+    /**
+     * The number of entries in the cache.
+     */
+    @Param({"1024"})
+    public int keys;
+
+    /**
+     * The number of keys chosen for each {@link Cache#invokeAll}. Duplicates are
+     * only processed once, so with a hot key every batch has a single key.
+     */
+    @Param({"8"})
+    public int batchSize;
+
+    private final Queue<IncrementCount> counts = new ConcurrentLinkedQueue<IncrementCount>();
+
+    private CacheManager cacheManager;
+    private Cache<Integer, Long> cache;
+    private KeyDistribution.KeyChooser chooser;
+
+    /**
+     * Creates the cache with all counters at zero.
+     */
+    @Setup(Level.Trial)
+    public void createCache() {
+      chooser = distribution.newChooser(keys);
+      cacheManager = Caching.getCachingProvider().getCacheManager();
+      cache = cacheManager.createCache(getClass().getName(),
+          new MutableConfiguration<Integer, Long>().setTypes(Integer.class, Long.class));
+      for (int key = 0; key < keys; key++) {
+        cache.put(key, INITIAL);
+      }
+    }
+
+    /**
+     * Checks that every increment made so far is reflected in the counters.
+     */
+    @TearDown(Level.Iteration)
+    public void checkForLostUpdates() {
+      long expected = 0;
+      for (IncrementCount count : counts) {
+        expected += count.increments;
+      }
+      long actual = 0;
+      for (int key = 0; key < keys; key++) {
+        actual += cache.get(key);
+      }
+      if (actual != expected) {
+        throw new IllegalStateException("Lost " + (expected - actual) + " of " + expected
+            + " updates with " + counts.size() + " threads and " + distribution + " keys");
+      }
+    }
+
+    /**
+     * Destroys the cache.
+     */
+    @TearDown(Level.Trial)
+    public void destroyCache() {
+      cacheManager.destroyCache(getClass().getName());
+    }
+
+    Set<Integer> nextBatch() {
+      Set<Integer> batch = new HashSet<Integer>();
+      for (int i = 0; i < batchSize; i++) {
+        batch.add(chooser.nextKey());
+      }
+      return batch;
+    }
+  }
+
+  /**
+   * The number of increments made by a benchmark thread.
+   */
+  @State(Scope.Thread)
+  public static class IncrementCount {
+
+    private long increments;
+
+    /**
+     * Registers this count with the cache it counts increments of.
+     *
+     * @param state the {@link CounterCacheState}
+     */
+    @Setup(Level.Trial)
+    public void register(CounterCacheState state) {
+      state.counts.add(this);
+    }
+  }
+
+  @Benchmark
+  public Long invokeGet(CounterCacheState state) {
+    return state.cache.invoke(state.chooser.nextKey(), GET);
+  }
+
+  @Benchmark
+  public Long invokeSet(CounterCacheState state) {
+    return state.cache.invoke(state.chooser.nextKey(), SET);
+  }
+
+  @Benchmark
+  public Object[] invokeCombine(CounterCacheState state) {
+    return state.cache.invoke(state.chooser.nextKey(), COMBINE);
+  }
+
+  @Benchmark
+  public Long invokeReplace(CounterCacheState state) {
+    return state.cache.invoke(state.chooser.nextKey(), REPLACE);
+  }
+
+  @Benchmark
+  public Long invokeMultiArgument(CounterCacheState state) {
+    return state.cache.invoke(state.chooser.nextKey(), MULTI_ARGUMENT, "These", "are", "arguments", 1L);
+  }
+
+  @Benchmark
+  public Long invokeIncrement(CounterCacheState state, IncrementCount count) {
+    Long value = state.cache.invoke(state.chooser.nextKey(), INCREMENT);
+    count.increments++;
+    return value;
+  }
+
+  @Benchmark
+  public Map<Integer, EntryProcessorResult<Long>> invokeAllIncrement(CounterCacheState state, IncrementCount count) {
+    Map<Integer, EntryProcessorResult<Long>> results = state.cache.invokeAll(state.nextBatch(), INCREMENT);
+    for (EntryProcessorResult<Long> result : results.values()) {
+      result.get();
+      count.increments++;
+    }
+    return results;
+  }
+
+  @Benchmark
+  public Map<Integer, EntryProcessorResult<Long>> invokeAllSet(CounterCacheState state) {
+    return state.cache.invokeAll(state.nextBatch(), SET);
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import domain.Blog;
+import manager.AsyncBlogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code @CacheResult} methods that return a {@link java.util.concurrent.Future} of a blog with
+ * one that blocks until the blog is found.
+ * <p>
+ * The {@link AsyncBlogManager} beans are obtained from the annotations test harness on
+ * the classpath, see {@link AnnotationInterceptionBenchmark}. The misses remove the
+ * entry before calling the method, so that each one runs a lookup of
+ * {@code latencyMillis}, and wait for the future so that lookups do not pile up.
+ * {@code InterceptionFutureTest} in the TCK reports how long a caller is held before it
+ * gets the future.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FutureInterceptionBenchmark {
+
+  /**
+   * An {@link AsyncBlogManager} bean with {@link #size} blogs, all of them cached.
+   */
+  @State(Scope.Benchmark)
+  public static class AsyncBlogManagerState {
+
+    /**
+     * The class name of the {@link javax.cache.annotation.BeanProvider} to use, or
+     * {@code auto} to discover it as the TCK does.
+     */
+    @Param({"auto"})
+    public String beanProvider;
+
+    /**
+     * The simple name of the {@link AsyncBlogManager} implementation in the {@code manager} package.
+     */
+    @Param({"AsyncBlogManagerImpl", "CompletedFutureBlogManagerImpl"})
+    public String blogManager;
+
+    /**
+     * The latency of a lookup in milliseconds.
+     */
+    @Param({"0", "1"})
+    public long latencyMillis;
+
+    /**
+     * The number of blogs.
+     */
+    @Param({"1000"})
+    public int size;
+
+    private AsyncBlogManager manager;
+    private String[] titles;
+
+    /**
+     * Obtains the bean, creates the blogs and caches every one of them.
+     */
+    @Setup(Level.Trial)
+    public void createBlogs() throws Exception {
+      manager = AnnotationInterceptionBenchmark.loadBeanProvider(beanProvider)
+          .getBeanByType(Class.forName("manager." + blogManager).asSubclass(AsyncBlogManager.class));
+      manager.clearCache();
+      manager.clearBlockingCache();
+
+      titles = new String[size];
+      for (int i = 0; i < size; i++) {
+        titles[i] = "title " + i;
+        manager.createEntry(new Blog(titles[i], "body " + i));
+        manager.getEntryCached(titles[i]).get();
+        manager.getEntryCachedBlocking(titles[i]);
+      }
+      manager.setLookupLatencyMillis(latencyMillis);
+    }
+
+    /**
+     * Empties the caches used by the bean.
+     */
+    @TearDown(Level.Trial)
+    public void clearCache() {
+      manager.setLookupLatencyMillis(0);
+      manager.clearCache();
+      manager.clearBlockingCache();
+    }
+
+    /**
+     * @return the title of a uniformly chosen blog
+     */
+    String nextTitle() {
+      return titles[ThreadLocalRandom.current().nextInt(size)];
+    }
+  }
+
+  @Benchmark
+  public Blog asyncHit(AsyncBlogManagerState state) throws Exception {
+    return state.manager.getEntryCached(state.nextTitle()).get();
+  }
+
+  @Benchmark
+  public Blog blockingHit(AsyncBlogManagerState state) {
+    return state.manager.getEntryCachedBlocking(state.nextTitle());
+  }
+
+  @Benchmark
+  public Blog asyncMissCompleted(AsyncBlogManagerState state) throws Exception {
+    String title = state.nextTitle();
+    state.manager.clearEntryFromCache(title);
+    return state.manager.getEntryCached(title).get();
+  }
+
+  @Benchmark
+  public Blog blockingMiss(AsyncBlogManagerState state) {
+    String title = state.nextTitle();
+    state.manager.clearBlockingEntryFromCache(title);
+    return state.manager.getEntryCachedBlocking(title);
+  }
+
+  @Benchmark
+  public Blog asyncRaw(AsyncBlogManagerState state) throws Exception {
+    return state.manager.getEntryRaw(state.nextTitle()).get();
+  }
+}
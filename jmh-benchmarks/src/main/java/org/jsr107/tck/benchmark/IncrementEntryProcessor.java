@@ -0,0 +1,31 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import javax.cache.processor.EntryProcessor;
+import javax.cache.processor.MutableEntry;
+import java.io.Serializable;
+
+/**
+ * An {@link EntryProcessor} that increments a counter, creating it if absent.
+ * Concurrent increments of the same entry are only all counted if the
+ * implementation processes entries atomically.
+ *
+ * @param <K> key type
+ */
+public class IncrementEntryProcessor<K> implements EntryProcessor<K, Long, Long>, Serializable {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Long process(MutableEntry<K, Long> entry, Object... arguments) {
+    long value = entry.exists() ? entry.getValue() + 1 : 1;
+    entry.setValue(value);
+    return value;
+  }
+}
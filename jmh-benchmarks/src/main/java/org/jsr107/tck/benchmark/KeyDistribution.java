@@ -0,0 +1,95 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The distributions with which benchmarks may choose keys.
+ */
+public enum KeyDistribution {
+
+  /**
+   * Every key is equally likely.
+   */
+  UNIFORM {
+    @Override
+    public KeyChooser newChooser(final int keys) {
+      return new KeyChooser() {
+        @Override
+        public int nextKey() {
+          return ThreadLocalRandom.current().nextInt(keys);
+        }
+      };
+    }
+  },
+
+  /**
+   * Keys are chosen with a Zipfian distribution, the lower keys being the most popular.
+   */
+  ZIPFIAN {
+    @Override
+    public KeyChooser newChooser(int keys) {
+      final double[] cumulative = new double[keys];
+      double sum = 0;
+      for (int key = 0; key < keys; key++) {
+        sum += 1 / Math.pow(key + 1, ZIPFIAN_EXPONENT);
+        cumulative[key] = sum;
+      }
+      for (int key = 0; key < keys; key++) {
+        cumulative[key] /= sum;
+      }
+      return new KeyChooser() {
+        @Override
+        public int nextKey() {
+          int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+          return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+        }
+      };
+    }
+  },
+
+  /**
+   * Every operation uses the same key.
+   */
+  HOT_KEY {
+    @Override
+    public KeyChooser newChooser(int keys) {
+      return new KeyChooser() {
+        @Override
+        public int nextKey() {
+          return 0;
+        }
+      };
+    }
+  };
+
+  /**
+   * The exponent of the Zipfian distribution, as commonly used by YCSB.
+   */
+  private static final double ZIPFIAN_EXPONENT = 0.99;
+
+  /**
+   * Creates a {@link KeyChooser} for keys {@code 0} to {@code keys - 1}.
+   *
+   * @param keys the number of keys
+   * @return the {@link KeyChooser}, safe to use from many threads
+   */
+  public abstract KeyChooser newChooser(int keys);
+
+  /**
+   * Chooses keys according to a {@link KeyDistribution}.
+   */
+  public interface KeyChooser {
+
+    /**
+     * @return the next key
+     */
+    int nextKey();
+  }
+}
@@ -0,0 +1,53 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import domain.Identifier;
+
+/**
+ * The types of key a benchmark may be run with.
+ */
+public enum KeyType {
+
+  /**
+   * {@link Long} keys, cheap to hash and to copy.
+   */
+  LONG {
+    @Override
+    public Object createKey(int index) {
+      return Long.valueOf(index);
+    }
+  },
+
+  /**
+   * {@link String} keys.
+   */
+  STRING {
+    @Override
+    public Object createKey(int index) {
+      return "key-" + index;
+    }
+  },
+
+  /**
+   * {@link Identifier} keys, a serializable user defined type.
+   */
+  IDENTIFIER {
+    @Override
+    public Object createKey(int index) {
+      return new Identifier("identifier-" + index);
+    }
+  };
+
+  /**
+   * Creates the key with the given index. Keys with equal indexes are equal.
+   *
+   * @param index the index of the key
+   * @return the key
+   */
+  public abstract Object createKey(int index);
+}
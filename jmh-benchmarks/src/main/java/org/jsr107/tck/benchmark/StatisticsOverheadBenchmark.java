@@ -0,0 +1,146 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import org.jsr107.tck.processor.GetEntryProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.processor.EntryProcessor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@link MutableConfiguration#setStatisticsEnabled(boolean)} costs by
+ * running identical workloads against a cache with statistics enabled and one with
+ * statistics disabled.
+ * <p>
+ * Half of the keys read are absent, so that both hits and misses are counted. The
+ * throughput mode shows the throughput lost to statistics and the sample mode shows
+ * how much they inflate p99 latency. Statistics counters shared by all threads
+ * contend, and when they sit on the same cache line, falsely share it: either shows up
+ * as a loss that grows with the JMH thread count, for example {@code -t 1} to
+ * {@code -t 64}. On Linux {@code -prof perfnorm} reports the cache misses per operation
+ * that confirm it.
+ * </p>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsOverheadBenchmark {
+
+  private static final EntryProcessor<Long, String, String> GET = new GetEntryProcessor<Long, String>();
+
+  /**
+   * A populated cache with statistics enabled or disabled.
+   */
+  @State(Scope.Benchmark)
+  public static class StatisticsState {
+
+    /**
+     * Whether the cache collects statistics.
+     */
+    @Param({"false", "true"})
+    public boolean statisticsEnabled;
+
+    /**
+     * The number of entries in the cache.
+     */
+    @Param({"10000"})
+    public int size;
+
+    private CacheManager cacheManager;
+    private Cache<Long, String> cache;
+    private String[] values;
+
+    /**
+     * Creates the cache and puts every even key.
+     */
+    @Setup(Level.Trial)
+    public void createCache() {
+      values = new String[2 * size];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = "value " + i;
+      }
+      cacheManager = Caching.getCachingProvider().getCacheManager();
+      cache = cacheManager.createCache(getClass().getName(), new MutableConfiguration<Long, String>()
+          .setTypes(Long.class, String.class)
+          .setStatisticsEnabled(statisticsEnabled));
+      for (int i = 0; i < values.length; i += 2) {
+        cache.put((long) i, values[i]);
+      }
+    }
+
+    /**
+     * Destroys the cache.
+     */
+    @TearDown(Level.Trial)
+    public void destroyCache() {
+      cacheManager.destroyCache(getClass().getName());
+    }
+
+    /**
+     * @return a uniformly chosen key, present if even and absent if odd
+     */
+    int nextKey() {
+      return ThreadLocalRandom.current().nextInt(values.length);
+    }
+
+    /**
+     * @return a uniformly chosen key that is present
+     */
+    int nextPresentKey() {
+      return ThreadLocalRandom.current().nextInt(size) * 2;
+    }
+  }
+
+  @Benchmark
+  public String get(StatisticsState state) {
+    return state.cache.get((long) state.nextKey());
+  }
+
+  @Benchmark
+  public void put(StatisticsState state) {
+    int key = state.nextPresentKey();
+    state.cache.put((long) key, state.values[key]);
+  }
+
+  @Benchmark
+  public String invoke(StatisticsState state) {
+    return state.cache.invoke((long) state.nextKey(), GET);
+  }
+
+  /**
+   * Reads four times as often as it writes.
+   */
+  @Benchmark
+  public Object mixed(StatisticsState state) {
+    int key = state.nextPresentKey();
+    if (ThreadLocalRandom.current().nextInt(5) == 0) {
+      state.cache.put((long) key, state.values[key]);
+      return null;
+    }
+    return state.cache.get((long) key);
+  }
+}
@@ -0,0 +1,130 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what copy-on-write and copy-on-read cost by comparing {@link Cache#put}
+ * and {@link Cache#get} of {@link DogGraph} values in a store-by-value cache with the
+ * same operations in a store-by-reference cache.
+ * <p>
+ * The shape of the values is tuned with {@code depth}, {@code fanOut} and
+ * {@code payloadBytes}; a graph holds {@code (fanOut^(depth + 1) - 1) / (fanOut - 1)} dogs.
+ * Run with {@code -prof gc} to report the bytes allocated per operation, which for a
+ * store-by-value cache is dominated by the copies made.
+ * </p>
+ * Implementations are not required to support store-by-reference; if the cache cannot
+ * be created with {@code storeByValue=false} the trial fails and only the
+ * store-by-value results are reported.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreByValueBenchmark {
+
+  /**
+   * A cache of {@link DogGraph}s configured for the parameters of the trial.
+   */
+  @State(Scope.Benchmark)
+  public static class GraphCacheState {
+
+    /**
+     * Whether the cache stores copies of keys and values.
+     */
+    @Param({"true", "false"})
+    public boolean storeByValue;
+
+    /**
+     * The number of generations below the root of each value.
+     */
+    @Param({"0", "2", "4"})
+    public int depth;
+
+    /**
+     * The number of pups of each dog in a value.
+     */
+    @Param({"2"})
+    public int fanOut;
+
+    /**
+     * The length of the pedigree of each dog in a value.
+     */
+    @Param({"16", "1024"})
+    public int payloadBytes;
+
+    /**
+     * The number of entries in the cache.
+     */
+    @Param({"1000"})
+    public int size;
+
+    private CacheManager cacheManager;
+    private Cache<Long, DogGraph> cache;
+    private DogGraph[] values;
+
+    /**
+     * Creates and populates the cache.
+     */
+    @Setup(Level.Trial)
+    public void createCache() {
+      values = new DogGraph[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = DogGraph.create("dog-" + i, depth, fanOut, payloadBytes);
+      }
+
+      cacheManager = Caching.getCachingProvider().getCacheManager();
+      MutableConfiguration<Long, DogGraph> configuration = new MutableConfiguration<Long, DogGraph>()
+          .setTypes(Long.class, DogGraph.class)
+          .setStoreByValue(storeByValue);
+      cache = cacheManager.createCache(getClass().getName(), configuration);
+      for (int i = 0; i < size; i++) {
+        cache.put((long) i, values[i]);
+      }
+    }
+
+    /**
+     * Destroys the cache.
+     */
+    @TearDown(Level.Trial)
+    public void destroyCache() {
+      cacheManager.destroyCache(getClass().getName());
+    }
+  }
+
+  @Benchmark
+  public void put(GraphCacheState state) {
+    int index = ThreadLocalRandom.current().nextInt(state.size);
+    state.cache.put((long) index, state.values[index]);
+  }
+
+  @Benchmark
+  public DogGraph get(GraphCacheState state) {
+    return state.cache.get((long) ThreadLocalRandom.current().nextInt(state.size));
+  }
+}
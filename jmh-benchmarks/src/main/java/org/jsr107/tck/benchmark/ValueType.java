@@ -0,0 +1,60 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+package org.jsr107.tck.benchmark;
+
+import domain.Beagle;
+import domain.Blog;
+import domain.Identifier;
+import domain.Sex;
+
+/**
+ * The types of value a benchmark may be run with.
+ */
+public enum ValueType {
+
+  /**
+   * {@link String} values.
+   */
+  STRING {
+    @Override
+    public Object createValue(int index) {
+      return "value-" + index;
+    }
+  },
+
+  /**
+   * {@link Blog} values, a small serializable object with two strings.
+   */
+  BLOG {
+    @Override
+    public Object createValue(int index) {
+      return new Blog("title-" + index, "body of blog entry " + index);
+    }
+  },
+
+  /**
+   * {@link Beagle} values. As {@link domain.Dog} is not serializable, only the
+   * {@link Beagle} part survives a store-by-value copy.
+   */
+  BEAGLE {
+    @Override
+    public Object createValue(int index) {
+      Beagle beagle = new Beagle();
+      beagle.name(new Identifier("beagle-" + index)).color("tricolour").weight(10).length(60).height(38)
+          .sex(Sex.FEMALE).neutered(false);
+      return beagle;
+    }
+  };
+
+  /**
+   * Creates the value with the given index.
+   *
+   * @param index the index of the value
+   * @return the value
+   */
+  public abstract Object createValue(int index);
+}
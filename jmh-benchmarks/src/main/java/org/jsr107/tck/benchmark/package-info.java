@@ -0,0 +1,17 @@
+/**
+ *  Copyright (c) 2011-2016 Terracotta, Inc.
+ *  Copyright (c) 2011-2016 Oracle and/or its affiliates.
+ *
+ *  All rights reserved. Use is subject to license terms.
+ */
+
+/**
+ This package contains JMH benchmarks for JSR107 implementations.
+
+ The implementation is resolved the same way the TCK resolves it, through
+ {@link javax.cache.Caching#getCachingProvider()}, using the
+ implementation-groupId, implementation-artifactId and implementation-version
+ properties to put it on the classpath. Keys and values are drawn from the
+ domain classes used by the TCK.
+ */
+package org.jsr107.tck.benchmark;